@@ -23,6 +23,7 @@ import static java.nio.charset.Charset.defaultCharset;
 import static org.eclipse.core.runtime.IStatus.ERROR;
 import static org.eclipse.core.runtime.IStatus.INFO;
 import static org.eclipse.payara.tools.preferences.PreferenceConstants.ENABLE_LOG;
+import static org.eclipse.payara.tools.sdk.GlassFishToolsConfig.setCacheDirectory;
 import static org.eclipse.wst.server.core.ServerCore.addRuntimeLifecycleListener;
 import static org.eclipse.wst.server.core.ServerCore.addServerLifecycleListener;
 
@@ -69,6 +70,7 @@ public class PayaraToolsPlugin extends AbstractUIPlugin {
     public void start(BundleContext context) throws Exception {
         super.start(context);
         
+        setCacheDirectory(getStateLocation().toFile());
         addRuntimeLifecycleListener(new RuntimeLifecycleListener());
         addServerLifecycleListener(new ServerLifecycleListener());
     }
@@ -18,7 +18,13 @@
 
 package org.eclipse.payara.tools.internal;
 
-import java.util.LinkedList;
+import static org.eclipse.payara.tools.PayaraToolsPlugin.logMessage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
@@ -30,53 +36,145 @@ import org.eclipse.payara.tools.PayaraToolsPlugin;
  * This thread refreshes the Payara libraries container, effectively
  * whenever ".settings/org.eclipse.wst.common.project.facet.core.xml" in
  * a project changes.
+ * <p/>
+ * Project queued several times before it is refreshed is refreshed once. Requests arriving in
+ * bursts are collected until the queue is quiet for {@link #QUIET_PERIOD} ms, at most for
+ * {@link #MAX_WAIT} ms, and all collected projects are then refreshed in one workspace operation.
  * 
  * TODO: Can't this just use the Eclipse job framework?
  */
 public class ContainersRefresherThread extends Thread {
-    
-    private final LinkedList<IProject> projects = new LinkedList<>();
 
+    /** Time without new request after which collected projects are refreshed [ms]. */
+    private static final long QUIET_PERIOD = 200;
+
+    /** Maximal time between first request of a batch and its refresh [ms]. */
+    private static final long MAX_WAIT = 2000;
+
+    private final Set<IProject> projects = new LinkedHashSet<>();
+
+    /** Time of last request [ms]. */
+    private long lastRequest;
 
-    public IProject getProjectFromQueue() {
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong refreshTime = new AtomicLong();
+
+    /**
+     * Wait for queued projects and take all of them once the queue is quiet.
+     * Returns null when the thread was interrupted.
+     */
+    List<IProject> takeBatch() {
         synchronized (projects) {
-            if (projects.isEmpty()) {
-                try {
+            try {
+                while (projects.isEmpty()) {
                     projects.wait();
-                } catch (InterruptedException e) {
-                    return null;
                 }
+                long deadline = System.currentTimeMillis() + MAX_WAIT;
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    long quietUntil = Math.min(lastRequest + QUIET_PERIOD, deadline);
+                    if (now >= quietUntil) {
+                        break;
+                    }
+                    projects.wait(quietUntil - now);
+                }
+            } catch (InterruptedException e) {
+                return null;
             }
 
-            return projects.removeFirst();
+            List<IProject> batch = new ArrayList<>(projects);
+            projects.clear();
+            return batch;
         }
     }
 
     public void addProjectToQueue(final IProject project) {
+        requests.incrementAndGet();
         synchronized (projects) {
-            projects.addLast(project);
-            projects.notify();
+            lastRequest = System.currentTimeMillis();
+            if (projects.add(project) && projects.size() == 1) {
+                projects.notify();
+            }
         }
     }
 
+    /**
+     * Number of projects waiting for refresh.
+     */
+    public int getQueueLength() {
+        synchronized (projects) {
+            return projects.size();
+        }
+    }
+
+    /**
+     * Number of refresh requests, including requests for projects already queued.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Number of refreshed projects.
+     */
+    public long getRefreshed() {
+        return refreshed.get();
+    }
+
+    /**
+     * Number of workspace operations used to refresh projects.
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Total time spent refreshing projects [ms].
+     */
+    public long getRefreshTime() {
+        return refreshTime.get();
+    }
+
     @Override
     public void run() {
         while (true) {
-            IProject project = getProjectFromQueue();
+            List<IProject> batch = takeBatch();
 
-            if (project == null) {
+            if (batch == null) {
                 return;
             }
 
+            long start = System.currentTimeMillis();
             try {
                 IWorkspace workspace = ResourcesPlugin.getWorkspace();
                 
                 workspace.run(
-                    monitor -> SystemLibrariesContainer.refresh(project),
+                    monitor -> refresh(batch),
                     workspace.getRoot(), 0, null);
             } catch (CoreException e) {
                 PayaraToolsPlugin.log(e);
             }
+
+            long time = System.currentTimeMillis() - start;
+            batches.incrementAndGet();
+            refreshTime.addAndGet(time);
+            logMessage("Refreshed library containers of " + batch.size() + " projects in " + time + " ms, "
+                    + refreshed.get() + " projects refreshed for " + requests.get() + " requests");
+        }
+    }
+
+    private void refresh(List<IProject> batch) {
+        for (IProject project : batch) {
+            try {
+                if (project.isAccessible()) {
+                    SystemLibrariesContainer.refresh(project);
+                }
+            } catch (CoreException e) {
+                PayaraToolsPlugin.log(e);
+            }
+            refreshed.incrementAndGet();
         }
     }
-}
\ No newline at end of file
+}
@@ -16,75 +16,249 @@
  * SPDX-License-Identifier: EPL-2.0
  ******************************************************************************/
 
+
 package org.eclipse.payara.tools.internal;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.payara.tools.PayaraToolsPlugin.logError;
 import static org.eclipse.payara.tools.server.ServerStatus.NOT_DEFINED;
+import static org.eclipse.payara.tools.server.ServerStatus.RUNNING_DOMAIN_MATCHING;
+import static org.eclipse.payara.tools.server.ServerStatus.STOPPED_DOMAIN_NOT_MATCHING;
+import static org.eclipse.payara.tools.server.ServerStatus.STOPPED_NOT_LISTENING;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.payara.tools.sdk.PayaraIdeException;
 import org.eclipse.payara.tools.server.PayaraServer;
 import org.eclipse.payara.tools.server.ServerStatus;
+import org.eclipse.payara.tools.server.deploying.PayaraServerBehaviour;
 import org.eclipse.payara.tools.utils.ServerStatusHelper;
 
+/**
+ * Single status poller of Payara server.
+ * <p/>
+ * There is at most one monitor for each server. Every consumer interested in server status subscribes
+ * to this monitor instead of polling server on its own. One status check result is passed to all
+ * subscribed listeners. Monitors of all servers share one scheduler so no thread is created for
+ * individual server. Forced checks requested while another check of the same server is running wait
+ * for its result instead of querying server again.
+ * <p/>
+ * Delay between checks is randomized by up to {@link #JITTER} of check interval so polls of servers
+ * added at the same time drift apart. No thread waits for the jitter, so status latency is given by
+ * duration of the check itself, see {@link #getLastCheckDuration()}.
+ * <p/>
+ * Server version cached by {@link PayaraServerBehaviour#getVersion(PayaraServer)} is loaded in the
+ * background when server starts and dropped when server stops, so publish does not query it.
+ */
 public class ServerStatusMonitor implements Runnable {
 
     private static final int DEFAULT_DELAY_IN_SEC = 5;
 
-    private ScheduledExecutorService scheduler;
-    private PayaraServer server;
-    private int delay;
+    private static final int SCHEDULER_POOL_SIZE = 4;
+
+    /** Maximal random change of check interval as fraction of the interval. */
+    private static final double JITTER = 0.2;
+
+    private static final String THREAD_NAME = "Payara Server Status Monitor";
+
+    private static final Map<PayaraServer, ServerStatusMonitor> monitors = new ConcurrentHashMap<>();
+
+    private static final ScheduledThreadPoolExecutor scheduler = newScheduler();
+
+    private final PayaraServer server;
+    private final int delay;
     private ScheduledFuture<?> scheduledTask;
 
-    private volatile ServerStatus status = NOT_DEFINED;
-    private CopyOnWriteArrayList<ServerStateListener> listeners;
+    /** Incremented with every monitoring start so checks scheduled before stop are not rescheduled. */
+    private int generation;
 
-    private ServerStatusMonitor(PayaraServer server) {
-        this(server, DEFAULT_DELAY_IN_SEC);
-    }
+    /** Duration of last status check [ns]. */
+    private volatile long lastCheckDuration = -1;
 
-    private ServerStatusMonitor(PayaraServer server, ServerStateListener... listeners) {
-        this(server, DEFAULT_DELAY_IN_SEC, listeners);
-    }
+    /** Number of started consumers of this monitor. */
+    private final AtomicInteger users = new AtomicInteger();
+
+    /** Status check being executed or <code>null</code> when there is no check in progress. */
+    private final AtomicReference<CompletableFuture<ServerStatus>> check = new AtomicReference<>();
+
+    private volatile ServerStatus status = NOT_DEFINED;
+    private final CopyOnWriteArrayList<ServerStateListener> listeners;
 
-    private ServerStatusMonitor(PayaraServer server, int checkInterval, ServerStateListener... listeners) {
+    private ServerStatusMonitor(PayaraServer server, int checkInterval) {
         this.server = server;
         this.delay = checkInterval;
-        this.listeners = new CopyOnWriteArrayList<>(listeners);
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    private static ScheduledThreadPoolExecutor newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(SCHEDULER_POOL_SIZE, r -> {
+            Thread thread = new Thread(r, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setKeepAliveTime(60, SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     public static ServerStatusMonitor getInstance(PayaraServer server) {
-        return new ServerStatusMonitor(server);
+        return getInstance(server, DEFAULT_DELAY_IN_SEC);
     }
 
     public static ServerStatusMonitor getInstance(PayaraServer server, ServerStateListener... listeners) {
-        return new ServerStatusMonitor(server, listeners);
+        ServerStatusMonitor monitor = getInstance(server);
+        for (ServerStateListener listener : listeners) {
+            monitor.registerServerStatusListener(listener);
+        }
+        return monitor;
     }
 
+    /**
+     * Get status monitor of given server. Check interval is used only when monitor does not exist yet.
+     */
     public static ServerStatusMonitor getInstance(PayaraServer server, int checkInterval) {
-        return new ServerStatusMonitor(server, checkInterval);
+        return monitors.computeIfAbsent(server, key -> new ServerStatusMonitor(key, checkInterval));
     }
 
-    public void start() {
-        scheduler = Executors.newSingleThreadScheduledExecutor();
-        scheduledTask = scheduler.scheduleWithFixedDelay(this, 0, delay, SECONDS);
+    /**
+     * Subscribe listener to status changes of given server and start server monitoring when it is not
+     * running yet. Subscription shall be cancelled by {@link #unsubscribe(ServerStateListener)}.
+     */
+    public static ServerStatusMonitor subscribe(PayaraServer server, ServerStateListener listener) {
+        ServerStatusMonitor monitor = getInstance(server, listener);
+        monitor.start();
+        return monitor;
     }
 
-    public void stop() {
-        scheduledTask.cancel(true);
-        scheduler.shutdown();
+    /**
+     * Remove listener subscribed by {@link #subscribe(PayaraServer, ServerStateListener)} and stop
+     * server monitoring when there is no other consumer left.
+     */
+    public void unsubscribe(ServerStateListener listener) {
+        listeners.remove(listener);
+        stop();
+    }
+
+    public synchronized void start() {
+        if (users.getAndIncrement() == 0) {
+            monitors.putIfAbsent(server, this);
+            int current = ++generation;
+            scheduledTask = scheduler.schedule(() -> poll(current), 0, SECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (users.get() > 0 && users.decrementAndGet() == 0) {
+            scheduledTask.cancel(true);
+            scheduledTask = null;
+            monitors.remove(server, this);
+        }
     }
 
     @Override
     public void run() {
-        status = ServerStatusHelper.checkServerStatus(server);
+        try {
+            refresh().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logError("Status check of " + server.getName() + " failed", e);
+        }
+    }
+
+    /**
+     * Scheduled status check of given monitoring generation.
+     */
+    private void poll(int scheduledGeneration) {
+        try {
+            run();
+        } finally {
+            reschedule(scheduledGeneration);
+        }
+    }
+
+    /**
+     * Schedule next status check with randomized delay when monitoring was not stopped in the meantime.
+     */
+    private synchronized void reschedule(int scheduledGeneration) {
+        if (scheduledTask != null && scheduledGeneration == generation) {
+            long interval = SECONDS.toMillis(delay);
+            long range = (long) (interval * JITTER);
+            long next = interval + ThreadLocalRandom.current().nextLong(-range, range + 1);
+            scheduledTask = scheduler.schedule(() -> poll(scheduledGeneration), next, MILLISECONDS);
+        }
+    }
+
+    /**
+     * Check server status or join status check already in progress.
+     */
+    private CompletableFuture<ServerStatus> refresh() {
+        CompletableFuture<ServerStatus> running = check.get();
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<ServerStatus> created = new CompletableFuture<>();
+        if (!check.compareAndSet(null, created)) {
+            running = check.get();
+            return running != null ? running : refresh();
+        }
+        long start = System.nanoTime();
+        ServerStatus previous = status;
+        try {
+            status = ServerStatusHelper.checkServerStatus(server);
+            lastCheckDuration = System.nanoTime() - start;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            return created;
+        } finally {
+            check.set(null);
+        }
+        created.complete(status);
+        if (status != previous) {
+            updateVersion(status);
+        }
         notifyListeners(status);
+        return created;
+    }
+
+    /**
+     * Load or drop cached server version after server status changed.
+     */
+    private void updateVersion(ServerStatus newStatus) {
+        if (newStatus == STOPPED_NOT_LISTENING || newStatus == STOPPED_DOMAIN_NOT_MATCHING) {
+            PayaraServerBehaviour.invalidateVersion(server);
+        } else if (newStatus == RUNNING_DOMAIN_MATCHING) {
+            scheduler.execute(() -> {
+                try {
+                    PayaraServerBehaviour.getVersion(server);
+                } catch (PayaraIdeException e) {
+                    logError("Version check of " + server.getName() + " failed", e);
+                }
+            });
+        }
     }
-    
+
+    /**
+     * Get duration of last successful status check in milliseconds or <code>-1</code> when server was
+     * not checked yet.
+     */
+    public long getLastCheckDuration() {
+        long duration = lastCheckDuration;
+        return duration < 0 ? -1 : NANOSECONDS.toMillis(duration);
+    }
+
     public ServerStatus getServerStatus() {
         return getServerStatus(false);
     }
@@ -92,18 +266,18 @@ public class ServerStatusMonitor implements Runnable {
     public ServerStatus getServerStatus(boolean forceUpdate) {
         if (forceUpdate) {
             try {
-                scheduler.submit(this).get();
+                refresh().get();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             } catch (ExecutionException e) {
             }
         }
-        
+
         return status;
     }
-    
+
     public void registerServerStatusListener(ServerStateListener listener) {
-        listeners.add(listener);
+        listeners.addIfAbsent(listener);
     }
 
     private void notifyListeners(ServerStatus newStatus) {
@@ -112,6 +286,4 @@ public class ServerStatusMonitor implements Runnable {
         }
     }
 
-    
-
 }
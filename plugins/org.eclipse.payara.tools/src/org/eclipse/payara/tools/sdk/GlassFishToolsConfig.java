@@ -18,6 +18,8 @@
 
 package org.eclipse.payara.tools.sdk;
 
+import java.io.File;
+
 import org.eclipse.payara.tools.sdk.logging.Logger;
 
 /**
@@ -38,6 +40,10 @@ public class GlassFishToolsConfig {
     /** Proxy settings usage for loopback addresses. */
     private static volatile boolean proxyForLoopback = true;
 
+    /** Directory where persistent caches are stored. */
+    private static volatile File cacheDirectory
+            = new File(System.getProperty("java.io.tmpdir"), "payara-tools");
+
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -68,4 +74,26 @@ public class GlassFishToolsConfig {
         return proxyForLoopback;
     }
 
+    /**
+     * Set directory where persistent caches are stored.
+     * <p/>
+     *
+     * @param directory Directory where persistent caches are stored.
+     */
+    public static void setCacheDirectory(final File directory) {
+        cacheDirectory = directory;
+    }
+
+    /**
+     * Get directory where persistent caches are stored.
+     * <p/>
+     * Temporary directory is used when no directory was set.
+     * <p/>
+     *
+     * @return Directory where persistent caches are stored.
+     */
+    public static File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
 }
@@ -83,4 +83,17 @@ public abstract class Command {
         return retry;
     }
 
+    /**
+     * Inform whether this command only reads server state.
+     * <p/>
+     * Read only commands may be executed in parallel with other commands passed to the same server.
+     * Commands modifying server state are serialized.
+     * <p/>
+     *
+     * @return <code>true</code> when command does not modify server state, <code>false</code> otherwise.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
 }
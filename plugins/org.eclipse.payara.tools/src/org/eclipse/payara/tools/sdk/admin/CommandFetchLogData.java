@@ -50,6 +50,12 @@ public class CommandFetchLogData extends Command {
      */
     final String paramsAppendNext;
 
+    /**
+     * Maximum number of raw log bytes kept in returned <code>ValueLog</code> or <code>-1</code> when
+     * log lines shall be returned instead.
+     */
+    final int rawLimit;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -62,6 +68,7 @@ public class CommandFetchLogData extends Command {
     public CommandFetchLogData() {
         super(COMMAND);
         this.paramsAppendNext = null;
+        this.rawLimit = -1;
     }
 
     /**
@@ -76,6 +83,41 @@ public class CommandFetchLogData extends Command {
     public CommandFetchLogData(String paramsAppendNext) {
         super(COMMAND);
         this.paramsAppendNext = paramsAppendNext;
+        this.rawLimit = -1;
+    }
+
+    /**
+     * Constructs an instance of GlassFish server view log command entity returning raw log data.
+     * <p/>
+     * Log data are decoded into bounded buffer of returned <code>ValueLog</code> without being split
+     * into lines. When response is longer than <code>rawLimit</code>, oldest data are discarded.
+     * Runner never writes into caller's streams, so slow log consumer can't hold command execution
+     * thread and HTTP connection.
+     * <p/>
+     *
+     * @param paramsAppendNext Interval query parameters from Last View Log command execution or
+     * <code>null</code> to read all existing log entries.
+     * @param rawLimit Maximum number of log bytes kept, <code>0</code> to discard all data.
+     */
+    public CommandFetchLogData(String paramsAppendNext, int rawLimit) {
+        super(COMMAND);
+        this.paramsAppendNext = paramsAppendNext;
+        this.rawLimit = Math.max(0, rawLimit);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetch log data command only reads server state.
+     * <p/>
+     *
+     * @return Value of <code>true</code>.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 
 }
@@ -129,4 +129,20 @@ public class CommandGetProperty extends Command {
         super(COMMAND);
         propertyPattern = property;
     }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get property command only reads server state.
+     * <p/>
+     *
+     * @return Value of <code>true</code>.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
@@ -0,0 +1,331 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.admin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.payara.tools.server.PayaraServer;
+
+/**
+ * Executor lanes for GlassFish server administration commands.
+ * <p/>
+ * Each GlassFish server (identified by host and administration port) gets its own lane. Commands
+ * modifying server state are serialized within the lane, read only commands run in parallel on
+ * a separate pool of configurable width. Lanes of different servers run independently so a long
+ * running command on one server does not block commands passed to other servers.
+ * <p/>
+ * Lane threads are released when idle.
+ * <p/>
+ */
+public final class CommandLanes {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Administration command executor lane of single GlassFish server.
+     */
+    public static final class Lane {
+
+        ////////////////////////////////////////////////////////////////////////
+        // Instance attributes //
+        ////////////////////////////////////////////////////////////////////////
+
+        /** Lane name (<code>host:port</code>). */
+        private final String name;
+
+        /** Executor serializing commands modifying server state. */
+        private final ThreadPoolExecutor serial;
+
+        /** Executor running read only commands in parallel. */
+        private final ThreadPoolExecutor readOnly;
+
+        /** Number of commands submitted into this lane. */
+        private final AtomicLong submitted = new AtomicLong();
+
+        /** Total time commands spent waiting in queue [ns]. */
+        private final AtomicLong totalWait = new AtomicLong();
+
+        /** Longest time single command spent waiting in queue [ns]. */
+        private final AtomicLong maxWait = new AtomicLong();
+
+        ////////////////////////////////////////////////////////////////////////
+        // Constructors //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Creates an instance of administration command executor lane.
+         * <p/>
+         *
+         * @param name Lane name.
+         * @param width Number of read only commands executed in parallel.
+         */
+        private Lane(final String name, final int width) {
+            this.name = name;
+            serial = newExecutor(name, 1);
+            readOnly = newExecutor(name + " [read only]", width);
+        }
+
+        ////////////////////////////////////////////////////////////////////////
+        // Getters //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Get lane name.
+         * <p/>
+         *
+         * @return Lane name (<code>host:port</code>).
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get number of commands waiting in serialized queue.
+         * <p/>
+         *
+         * @return Number of commands waiting in serialized queue.
+         */
+        public int getQueueDepth() {
+            return serial.getQueue().size();
+        }
+
+        /**
+         * Get number of commands waiting in read only queue.
+         * <p/>
+         *
+         * @return Number of commands waiting in read only queue.
+         */
+        public int getReadOnlyQueueDepth() {
+            return readOnly.getQueue().size();
+        }
+
+        /**
+         * Get number of commands submitted into this lane.
+         * <p/>
+         *
+         * @return Number of commands submitted into this lane.
+         */
+        public long getSubmitted() {
+            return submitted.get();
+        }
+
+        /**
+         * Get average time commands spent waiting in queue.
+         * <p/>
+         *
+         * @return Average time commands spent waiting in queue [ms].
+         */
+        public long getAverageWait() {
+            long count = submitted.get();
+            return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWait.get() / count) : 0;
+        }
+
+        /**
+         * Get longest time single command spent waiting in queue.
+         * <p/>
+         *
+         * @return Longest time single command spent waiting in queue [ms].
+         */
+        public long getMaxWait() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWait.get());
+        }
+
+        ////////////////////////////////////////////////////////////////////////
+        // Methods //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Update number of read only commands executed in parallel.
+         * <p/>
+         *
+         * @param width Number of read only commands executed in parallel.
+         */
+        private void setWidth(final int width) {
+            if (width > readOnly.getMaximumPoolSize()) {
+                readOnly.setMaximumPoolSize(width);
+                readOnly.setCorePoolSize(width);
+            } else {
+                readOnly.setCorePoolSize(width);
+                readOnly.setMaximumPoolSize(width);
+            }
+        }
+
+        /**
+         * Record time command spent waiting in queue.
+         * <p/>
+         *
+         * @param wait Time command spent waiting in queue [ns].
+         */
+        private void recordWait(final long wait) {
+            totalWait.addAndGet(wait);
+            long max;
+            while (wait > (max = maxWait.get()) && !maxWait.compareAndSet(max, wait)) {
+                // Retry until maximum is updated or larger value was stored.
+            }
+        }
+
+        /**
+         * Submit administration command into this lane.
+         * <p/>
+         *
+         * @param task Administration command to be executed.
+         * @param readOnlyTask Task does not modify server state.
+         * @return <code>Future</code> object to retrieve result of asynchronous execution.
+         */
+        private <T> Future<T> submit(final Callable<T> task, final boolean readOnlyTask) {
+            final long queued = System.nanoTime();
+            submitted.incrementAndGet();
+            return (readOnlyTask ? readOnly : serial).submit(() -> {
+                recordWait(System.nanoTime() - queued);
+                return task.call();
+            });
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Default number of read only commands executed in parallel for single server. */
+    public static final int DEFAULT_READ_ONLY_WIDTH = 2;
+
+    /** Time idle lane threads are kept alive [s]. */
+    private static final long KEEP_ALIVE = 60;
+
+    /** Lane used when server host is not known. */
+    private static final String DEFAULT_LANE = "default";
+
+    /** Executor lanes mapped to <code>host:port</code> keys. */
+    private static final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /** Number of read only commands executed in parallel for single server. */
+    private static volatile int readOnlyWidth = DEFAULT_READ_ONLY_WIDTH;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Create new executor with threads released when idle.
+     * <p/>
+     *
+     * @param name Executor threads name prefix.
+     * @param size Thread pool size.
+     * @return New executor instance.
+     */
+    private static ThreadPoolExecutor newExecutor(final String name, final int size) {
+        final AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "Payara admin " + name + " #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Get lane key of given server.
+     * <p/>
+     *
+     * @param server GlassFish server entity.
+     * @return Lane key (<code>host:port</code>).
+     */
+    private static String key(final PayaraServer server) {
+        String host = server != null ? server.getHost() : null;
+        if (host == null) {
+            return DEFAULT_LANE;
+        }
+        return new StringBuilder(host.length() + 6).append(host).append(':').append(server.getAdminPort())
+                .toString();
+    }
+
+    /**
+     * Get executor lane of given server.
+     * <p/>
+     * New lane is created on first access.
+     * <p/>
+     *
+     * @param server GlassFish server entity.
+     * @return Executor lane of given server.
+     */
+    public static Lane lane(final PayaraServer server) {
+        return lanes.computeIfAbsent(key(server), name -> new Lane(name, readOnlyWidth));
+    }
+
+    /**
+     * Get all existing executor lanes.
+     * <p/>
+     *
+     * @return Snapshot of all existing executor lanes.
+     */
+    public static Collection<Lane> lanes() {
+        return new ArrayList<>(lanes.values());
+    }
+
+    /**
+     * Set number of read only commands executed in parallel for single server.
+     * <p/>
+     * Applies to both existing and new lanes.
+     * <p/>
+     *
+     * @param width Number of read only commands executed in parallel.
+     */
+    public static void setReadOnlyWidth(final int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Lane width shall be at least 1.");
+        }
+        readOnlyWidth = width;
+        for (Lane lane : lanes.values()) {
+            lane.setWidth(width);
+        }
+    }
+
+    /**
+     * Submit administration command into executor lane of given server.
+     * <p/>
+     *
+     * @param server Target GlassFish server.
+     * @param command Administration command entity.
+     * @param task Administration command to be executed.
+     * @return <code>Future</code> object to retrieve result of asynchronous execution.
+     */
+    static <T> Future<T> submit(final PayaraServer server, final Command command, final Callable<T> task) {
+        return lane(server).submit(task, command != null && command.isReadOnly());
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Do not instantiate this class.
+     */
+    private CommandLanes() {
+        throw new UnsupportedOperationException();
+    }
+
+}
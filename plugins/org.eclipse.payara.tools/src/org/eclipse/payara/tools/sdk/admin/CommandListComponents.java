@@ -87,4 +87,19 @@ public class CommandListComponents extends CommandTarget {
         super(COMMAND, target);
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * List components command only reads server state.
+     * <p/>
+     *
+     * @return Value of <code>true</code>.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
@@ -114,4 +114,20 @@ public class CommandListResources extends CommandTarget {
     public CommandListResources(final String command, final String target) {
         super(command, target);
     }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * List resources command only reads server state.
+     * <p/>
+     *
+     * @return Value of <code>true</code>.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
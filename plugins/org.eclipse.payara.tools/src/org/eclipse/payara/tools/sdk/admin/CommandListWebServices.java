@@ -46,4 +46,19 @@ public class CommandListWebServices extends Command {
         super(COMMAND);
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * List web services command only reads server state.
+     * <p/>
+     *
+     * @return Value of <code>true</code>.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
@@ -0,0 +1,282 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.admin;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keep-alive handling of HTTP connections to GlassFish server administration interface.
+ * <p/>
+ * Connections are pooled by JDK keep-alive cache for each <code>protocol://host:port</code> route
+ * when response body is fully consumed and connection is not disconnected. This class decides
+ * whether finished connection is returned to the pool or closed and keeps reuse statistics for each
+ * route.
+ * <p/>
+ * Idle connections are owned by JDK keep-alive cache. It keeps at most
+ * <code>http.maxConnections</code> idle connections per destination and expires them using timeout
+ * announced by server in <code>Keep-Alive</code> header. <code>HttpURLConnection</code> provides no
+ * access to that cache, so neither the number of idle connections per route nor their idle time can
+ * be limited here without replacing the HTTP transport.
+ * <p/>
+ */
+public final class HttpConnections {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Response stream tracking whether it was closed by its reader.
+     */
+    static final class ResponseStream extends FilterInputStream {
+
+        /** Stream was closed. */
+        private boolean closed;
+
+        /**
+         * Creates an instance of response stream.
+         * <p/>
+         *
+         * @param in HTTP connection response stream.
+         */
+        ResponseStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+            }
+        }
+
+        /**
+         * Check whether stream was closed.
+         * <p/>
+         *
+         * @return Value of <code>true</code> when stream was closed.
+         */
+        boolean isClosed() {
+            return closed;
+        }
+
+    }
+
+    /**
+     * HTTP connection route (<code>protocol://host:port</code>) statistics.
+     */
+    public static final class Route {
+
+        ////////////////////////////////////////////////////////////////////////
+        // Instance attributes //
+        ////////////////////////////////////////////////////////////////////////
+
+        /** Route name (<code>protocol://host:port</code>). */
+        private final String name;
+
+        /** Connections currently in use. */
+        private final AtomicInteger active = new AtomicInteger();
+
+        /** Number of requests sent using this route. */
+        private final AtomicLong requests = new AtomicLong();
+
+        /** Number of connections returned to keep-alive pool. */
+        private final AtomicLong kept = new AtomicLong();
+
+        /** Number of connections closed after request. */
+        private final AtomicLong closed = new AtomicLong();
+
+        ////////////////////////////////////////////////////////////////////////
+        // Constructors //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Creates an instance of HTTP connection route statistics.
+         * <p/>
+         *
+         * @param name Route name.
+         */
+        private Route(final String name) {
+            this.name = name;
+        }
+
+        ////////////////////////////////////////////////////////////////////////
+        // Getters //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Get route name.
+         * <p/>
+         *
+         * @return Route name (<code>protocol://host:port</code>).
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get number of requests sent using this route.
+         * <p/>
+         *
+         * @return Number of requests sent using this route.
+         */
+        public long getRequests() {
+            return requests.get();
+        }
+
+        /**
+         * Get number of connections returned to keep-alive pool.
+         * <p/>
+         *
+         * @return Number of connections returned to keep-alive pool.
+         */
+        public long getKept() {
+            return kept.get();
+        }
+
+        /**
+         * Get number of connections closed after request.
+         * <p/>
+         *
+         * @return Number of connections closed after request.
+         */
+        public long getClosed() {
+            return closed.get();
+        }
+
+        /**
+         * Get number of connections currently in use.
+         * <p/>
+         *
+         * @return Number of connections currently in use.
+         */
+        public int getActive() {
+            return active.get();
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Maximum number of response bytes drained to keep connection alive. */
+    private static final int MAX_DRAIN = 64 * 1024;
+
+    /** Route statistics mapped to route names. */
+    private static final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get all known routes statistics.
+     * <p/>
+     *
+     * @return Snapshot of all known routes statistics.
+     */
+    public static Collection<Route> routes() {
+        return new ArrayList<>(routes.values());
+    }
+
+    /**
+     * Register new connection opened using given URL.
+     * <p/>
+     *
+     * @param url URL used to open connection.
+     * @return Route statistics of given URL.
+     */
+    static Route open(final URL url) {
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        String name = new StringBuilder(url.getProtocol()).append("://").append(url.getHost()).append(':')
+                .append(port).toString();
+        Route route = routes.computeIfAbsent(name, Route::new);
+        route.requests.incrementAndGet();
+        route.active.incrementAndGet();
+        return route;
+    }
+
+    /**
+     * Release connection after request was finished.
+     * <p/>
+     * Connection is left to JDK keep-alive cache only when its response was fully consumed.
+     * Otherwise it is disconnected.
+     * <p/>
+     *
+     * @param route Route statistics of connection.
+     * @param conn Connection to be released.
+     * @param reusable Response body was fully consumed and stream closed.
+     */
+    static void release(final Route route, final HttpURLConnection conn, final boolean reusable) {
+        route.active.decrementAndGet();
+        if (reusable) {
+            route.kept.incrementAndGet();
+        } else {
+            route.closed.incrementAndGet();
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Read remaining response data so connection may be returned to keep-alive pool.
+     * <p/>
+     * Stream already closed by response reader is not read again. JDK decided on close whether its
+     * connection is returned to keep-alive pool and disconnecting it now would only evict cached
+     * connection.
+     * <p/>
+     *
+     * @param in Response stream.
+     * @return <code>true</code> when stream was fully consumed or <code>false</code> when there was too
+     * much data left or stream could not be read.
+     */
+    static boolean drain(final ResponseStream in) {
+        if (in.isClosed()) {
+            return true;
+        }
+        byte[] buffer = new byte[4096];
+        int total = 0;
+        try {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                total += count;
+                if (total > MAX_DRAIN) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException ioe) {
+            return false;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Do not instantiate this class.
+     */
+    private HttpConnections() {
+        throw new UnsupportedOperationException();
+    }
+
+}
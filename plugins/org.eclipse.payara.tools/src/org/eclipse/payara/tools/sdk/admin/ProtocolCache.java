@@ -0,0 +1,241 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.admin;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.eclipse.payara.tools.sdk.logging.Logger;
+import org.eclipse.payara.tools.sdk.utils.NetUtils;
+
+/**
+ * Cache of HTTP listener protocols detected on GlassFish server administration ports.
+ * <p/>
+ * Protocol detection using {@link NetUtils#isSecurePort(String, int)} opens a new socket and sends
+ * an SSL probe to the server. Detected protocol is stored for each <code>host:port</code> pair and
+ * reused until it expires or until it is invalidated by connection failure or redirect.
+ * <p/>
+ */
+public final class ProtocolCache {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Cached protocol detection result.
+     */
+    private static final class Entry {
+
+        /** Detected protocol (<code>"http"</code> or <code>"https"</code>). */
+        private final String protocol;
+
+        /** Time when this entry expires [ns]. */
+        private final long expires;
+
+        /**
+         * Creates an instance of cached protocol detection result.
+         * <p/>
+         *
+         * @param protocol Detected protocol.
+         * @param expires Time when this entry expires [ns].
+         */
+        private Entry(final String protocol, final long expires) {
+            this.protocol = protocol;
+            this.expires = expires;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(ProtocolCache.class);
+
+    /** Plain HTTP protocol. */
+    static final String HTTP = "http";
+
+    /** Secure HTTP protocol. */
+    static final String HTTPS = "https";
+
+    /** Default protocol cache entry time to live [ms]. */
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(30);
+
+    /** Detected protocols mapped to <code>host:port</code> keys. */
+    private static final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /** Cache entry time to live [ns]. */
+    private static volatile long ttl = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TTL);
+
+    /** Number of lookups served from cache. */
+    private static final AtomicLong hits = new AtomicLong();
+
+    /** Number of lookups which required protocol detection. */
+    private static final AtomicLong misses = new AtomicLong();
+
+    /** Total time spent in protocol detection [ns]. */
+    private static final AtomicLong probeTime = new AtomicLong();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Build cache key for given host and port.
+     * <p/>
+     *
+     * @param host Server host.
+     * @param port Server port.
+     * @return Cache key.
+     */
+    private static String key(final String host, final int port) {
+        return new StringBuilder(host.length() + 6).append(host).append(':').append(port).toString();
+    }
+
+    /**
+     * Set cache entry time to live.
+     * <p/>
+     * Already cached entries keep their original expiration time.
+     * <p/>
+     *
+     * @param ttlMillis Cache entry time to live [ms].
+     */
+    public static void setTimeToLive(final long ttlMillis) {
+        ttl = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Get HTTP listener protocol of given server port.
+     * <p/>
+     * Protocol is detected only when there is no valid entry for given host and port in the cache.
+     * Failed detection defaults to <code>"http"</code> and is not cached.
+     * <p/>
+     *
+     * @param host Server host.
+     * @param port Server port.
+     * @param url Command URL description used in log messages.
+     * @return HTTP listener protocol (<code>"http"</code> or <code>"https"</code>).
+     */
+    static String getProtocol(final String host, final int port, final String url) {
+        final String METHOD = "getProtocol";
+        if (host == null) {
+            return HTTP;
+        }
+        String key = key(host, port);
+        Entry entry = cache.get(key);
+        if (entry != null && entry.expires - System.nanoTime() > 0) {
+            hits.incrementAndGet();
+            return entry.protocol;
+        }
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            String protocol = NetUtils.isSecurePort(host, port) ? HTTPS : HTTP;
+            cache.put(key, new Entry(protocol, System.nanoTime() + ttl));
+            return protocol;
+        } catch (ConnectException | SocketTimeoutException ex) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] { key, url, ex.getLocalizedMessage() });
+        } catch (SocketException ex) {
+            LOGGER.log(Level.FINE, METHOD, "failed", new Object[] { key, url, ex.getLocalizedMessage() });
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] { key, url, ex.getLocalizedMessage() });
+        } finally {
+            probeTime.addAndGet(System.nanoTime() - start);
+        }
+        return HTTP;
+    }
+
+    /**
+     * Store protocol learned from server response (e.g. redirect) for given host and port.
+     * <p/>
+     *
+     * @param host Server host.
+     * @param port Server port.
+     * @param protocol Protocol used by server on given port.
+     */
+    static void update(final String host, final int port, final String protocol) {
+        if (host != null && (HTTP.equals(protocol) || HTTPS.equals(protocol))) {
+            cache.put(key(host, port), new Entry(protocol, System.nanoTime() + ttl));
+        }
+    }
+
+    /**
+     * Remove cached protocol for given host and port.
+     * <p/>
+     * Next lookup will detect protocol again.
+     * <p/>
+     *
+     * @param host Server host.
+     * @param port Server port.
+     */
+    public static void invalidate(final String host, final int port) {
+        if (host != null) {
+            cache.remove(key(host, port));
+        }
+    }
+
+    /**
+     * Remove all cached protocols.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Get number of lookups served from cache.
+     * <p/>
+     *
+     * @return Number of lookups served from cache.
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get number of lookups which required protocol detection.
+     * <p/>
+     *
+     * @return Number of lookups which required protocol detection.
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get total time spent in protocol detection.
+     * <p/>
+     *
+     * @return Total time spent in protocol detection [ms].
+     */
+    public static long getProbeTime() {
+        return TimeUnit.NANOSECONDS.toMillis(probeTime.get());
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Do not instantiate this class.
+     */
+    private ProtocolCache() {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -33,10 +33,7 @@ import java.net.Proxy;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.UnknownHostException;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
+import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -46,9 +43,6 @@ import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
 
 import org.eclipse.payara.tools.sdk.GlassFishToolsConfig;
 import org.eclipse.payara.tools.sdk.TaskEvent;
@@ -161,11 +155,6 @@ public abstract class Runner implements Callable<Result> {
     /** <code>String</code> value for <code>false</code>. */
     static final String FALSE_VALUE = "false";
 
-    /**
-     * Executor used to serialize administration commands passed to GlassFish server.
-     */
-    private static volatile ExecutorService executor;
-
     /* Global password authenticator for GlassFish servers. */
     private static volatile Authenticator authenticator;
 
@@ -173,27 +162,6 @@ public abstract class Runner implements Callable<Result> {
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
 
-    /**
-     * Returns shared <code>Executor</code> instance to serialize administration commands passed to
-     * GlassFish server.
-     * <p/>
-     * <code>Executor</code> instance is handled internally.
-     * <p/>
-     *
-     * @return Shared <code>Executor</code> instance.
-     */
-    static ExecutorService serializedExecutor() {
-        if (executor != null) {
-            return executor;
-        }
-        synchronized (Runner.class) {
-            if (executor == null) {
-                executor = Executors.newFixedThreadPool(1);
-            }
-        }
-        return executor;
-    }
-
     /**
      * Allows to initialize this class to use external <code>Authenticator</code>.
      * <p/>
@@ -607,12 +575,15 @@ public abstract class Runner implements Callable<Result> {
     /**
      * Execute an arbitrary server command.
      * <p/>
+     * Command is passed to executor lane of target server. Commands modifying server state are
+     * serialized within the lane, read only commands may run in parallel.
+     * <p/>
      *
      * @return <code>Future</code> object to retrieve receiveResult of asynchronous execution.
      */
     Future<? extends Result> execute() {
         setReadyState();
-        return serializedExecutor().submit(this);
+        return CommandLanes.submit(server, command, this);
     }
 
     /**
@@ -645,7 +616,7 @@ public abstract class Runner implements Callable<Result> {
         String adminUser = server.getAdminUser();
         String adminPassword = server.getAdminPassword();
         LOGGER.log(Level.FINEST, METHOD, "setting",
-                new Object[] { new Integer(HTTP_CONNECTION_TIMEOUT), adminUser, adminPassword });
+                () -> new Object[] { HTTP_CONNECTION_TIMEOUT, adminUser, adminPassword });
         try {
             conn.setRequestMethod(getRequestMethod());
         } catch (ProtocolException pe) {
@@ -667,33 +638,20 @@ public abstract class Runner implements Callable<Result> {
         }
     }
 
+    /**
+     * Set up secure connection to use shared SSL configuration of target server.
+     * <p/>
+     * Shared <code>SSLContext</code> allows TLS sessions to be resumed across commands.
+     * <p/>
+     *
+     * @param conn Target HTTPS connection.
+     */
     protected void handleSecureConnection(final HttpsURLConnection conn) {
         final String METHOD = "handleSecureConnection";
-        // let's just trust any server that we connect to...
-        // we aren't send them money or secrets...
-        TrustManager[] tm = new TrustManager[] { new X509TrustManager() {
-
-            @Override
-            public void checkClientTrusted(X509Certificate[] arg0, String arg1) throws CertificateException {
-            }
-
-            @Override
-            public void checkServerTrusted(X509Certificate[] arg0, String arg1) throws CertificateException {
-            }
-
-            @Override
-            public X509Certificate[] getAcceptedIssuers() {
-                return null;
-            }
-        } };
-
-        SSLContext context;
         try {
-            context = SSLContext.getInstance("SSL");
-            context.init(null, tm, null);
-            conn.setSSLSocketFactory(context.getSocketFactory());
-            conn.setHostnameVerifier((string, ssls) -> true);
-        } catch (NoSuchAlgorithmException | KeyManagementException ex) {
+            conn.setSSLSocketFactory(SecureConnections.socketFactory(server));
+            conn.setHostnameVerifier(SecureConnections.TRUST_ALL_HOSTS);
+        } catch (GeneralSecurityException ex) {
             // if there is an issue here... there will be another exception
             // later which will take care of the user interaction...
             LOGGER.log(Level.INFO, METHOD, "issue", conn.getURL());
@@ -704,13 +662,17 @@ public abstract class Runner implements Callable<Result> {
     protected boolean handleReceive(final HttpURLConnection hconn) throws IOException {
         final String METHOD = "handleReceive";
         boolean receiveResult = false;
-        InputStream httpInputStream = hconn.getInputStream();
+        HttpConnections.ResponseStream httpInputStream
+                = new HttpConnections.ResponseStream(hconn.getInputStream());
         try {
             receiveResult = readResponse(httpInputStream, hconn);
+            // Fully consumed response allows connection to be kept alive.
+            reusable = HttpConnections.drain(httpInputStream);
         } finally {
             try {
                 httpInputStream.close();
             } catch (IOException ioe) {
+                reusable = false;
                 LOGGER.log(Level.WARNING, METHOD, "exception", ioe);
             }
         }
@@ -731,6 +693,12 @@ public abstract class Runner implements Callable<Result> {
     /** GlassFish server administration interface HTTP URL connection. */
     private HttpURLConnection hconn;
 
+    /** Route statistics of GlassFish server administration interface HTTP URL connection. */
+    private HttpConnections.Route route;
+
+    /** HTTP URL connection response was fully consumed so connection may be kept alive. */
+    private boolean reusable;
+
     ////////////////////////////////////////////////////////////////////////////
     // ExecutorService call() method helpers //
     // Do not use those methods outside call() method execution context! //
@@ -743,6 +711,8 @@ public abstract class Runner implements Callable<Result> {
         urlToConnectTo = null;
         conn = null;
         hconn = null;
+        route = null;
+        reusable = false;
     }
 
     /**
@@ -832,13 +802,39 @@ public abstract class Runner implements Callable<Result> {
             } else {
                 LOGGER.log(Level.FINE, METHOD, "locationMoved", newUrl);
                 urlToConnectTo = new URL(newUrl);
+                ProtocolCache.update(urlToConnectTo.getHost(), port(urlToConnectTo), urlToConnectTo.getProtocol());
                 conn = openURLConnection(urlToConnectTo);
-                hconn.disconnect();
+                HttpConnections.release(route, hconn, false);
+                route = HttpConnections.open(urlToConnectTo);
             }
         }
         return null;
     }
 
+    /**
+     * Get port of provided URL or default port of URL protocol when port is not set.
+     * <p/>
+     *
+     * @param url URL to be examined.
+     * @return Port of provided URL.
+     */
+    private static int port(final URL url) {
+        int port = url.getPort();
+        return port != -1 ? port : url.getDefaultPort();
+    }
+
+    /**
+     * Remove cached HTTP listener protocol of server port currently being connected.
+     * <p/>
+     * Protocol will be detected again with next command so server configuration changes (e.g. enabling
+     * secure administration) are picked up after connection failure.
+     */
+    private void invalidateProtocol() {
+        if (urlToConnectTo != null) {
+            ProtocolCache.invalidate(urlToConnectTo.getHost(), port(urlToConnectTo));
+        }
+    }
+
     /**
      * Log administration command failure.
      * <p/>
@@ -896,13 +892,14 @@ public abstract class Runner implements Callable<Result> {
         }
         // disable ("version".equals(cmd) || "__locations".equals(cmd)) ? 1 : 3;
         int retries = 1;
-        LOGGER.log(Level.FINEST, METHOD, "thread", new Object[] { commandUrl, Thread.currentThread().getName() });
+        LOGGER.log(Level.FINEST, METHOD, "thread", () -> new Object[] { commandUrl, Thread.currentThread().getName() });
         try {
             urlToConnectTo = new URL(commandUrl);
             while (!httpSucceeded && retries-- > 0) {
                 try {
                     conn = openURLConnection(urlToConnectTo);
                     if (conn instanceof HttpURLConnection) {
+                        route = HttpConnections.open(urlToConnectTo);
                         StateChange change = handleHTTPConnection();
                         if (change != null) {
                             return change.handleStateChange();
@@ -930,16 +927,20 @@ public abstract class Runner implements Callable<Result> {
                             stateChangeArgs(ex.getLocalizedMessage(), true));
                     retries = 0;
                 } catch (ConnectException ce) {
+                    invalidateProtocol();
                     return handleStateChange(TaskState.FAILED, TaskEvent.EXCEPTION,
                             stateChangeArgs(ce.getLocalizedMessage()));
                 } catch (IOException ex) {
+                    invalidateProtocol();
                     if (retries <= 0) {
                         return handleStateChange(TaskState.FAILED, TaskEvent.EXCEPTION,
                                 stateChangeArgs(ex.getLocalizedMessage()));
                     }
                 } finally {
-                    if (null != hconn) {
-                        hconn.disconnect();
+                    // Keep connection alive for next command when response was fully consumed.
+                    if (null != route) {
+                        HttpConnections.release(route, hconn, httpSucceeded && reusable);
+                        route = null;
                     }
                 }
 
@@ -23,10 +23,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.ConnectException;
 import java.net.HttpURLConnection;
-import java.net.SocketException;
-import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
@@ -38,7 +35,6 @@ import java.util.jar.Manifest;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.logging.Logger;
-import org.eclipse.payara.tools.sdk.utils.NetUtils;
 import org.eclipse.payara.tools.sdk.utils.ServerUtils;
 import org.eclipse.payara.tools.server.PayaraServer;
 
@@ -210,25 +206,6 @@ public class RunnerHttp extends Runner {
                 || !"FAILURE".equals(exitCode.toUpperCase(Locale.ENGLISH));
     }
 
-    private static String getHttpListenerProtocol(String hostname, int port,
-            String url) {
-        String retVal = "http"; // NOI18N
-        try {
-            if (NetUtils.isSecurePort(hostname, port)) {
-                retVal = "https"; // NOI18N
-            }
-        } catch (ConnectException ex) {
-            Logger.log(Level.INFO, hostname + ":" + port + "::" + url, ex);
-        } catch (SocketException ex) {
-            Logger.log(Level.FINE, hostname + ":" + port + "::" + url, ex);
-        } catch (SocketTimeoutException ex) {
-            Logger.log(Level.INFO, hostname + ":" + port + "::" + url, ex);
-        } catch (IOException ex) {
-            Logger.log(Level.INFO, hostname + ":" + port + "::" + url, ex);
-        }
-        return retVal;
-    }
-
     ////////////////////////////////////////////////////////////////////////////
     // Instance attributes //
     ////////////////////////////////////////////////////////////////////////////
@@ -355,10 +332,10 @@ public class RunnerHttp extends Runner {
         String url = server.getUrl();
         String domainsDir = server.getDomainsFolder();
         if (null == url) {
-            protocol = getHttpListenerProtocol(host, port, ":::"
+            protocol = ProtocolCache.getProtocol(host, port, ":::"
                     + command.getCommand() + "?" + query);
         } else if (!(url.contains("ee6wc"))) {
-            protocol = getHttpListenerProtocol(host, port, url + ":::"
+            protocol = ProtocolCache.getProtocol(host, port, url + ":::"
                     + command.getCommand() + "?" + query);
         } else if (url.contains("ee6wc") && (null == domainsDir
                 || "".equals(domainsDir))) {
@@ -19,13 +19,19 @@
 package org.eclipse.payara.tools.sdk.admin;
 
 import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.util.Enumeration;
 import java.util.logging.Level;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import org.eclipse.payara.tools.sdk.logging.Logger;
@@ -37,11 +43,50 @@ import org.eclipse.payara.tools.server.PayaraServer;
  * <p/>
  * Class implements GlassFish server administration functionality trough HTTP interface.
  * <p/>
+ * Archives which are already compressed are not compressed again when being sent to server.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
 public class RunnerHttpDeploy extends RunnerHttp {
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Output stream counting bytes written to underlying stream.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /** Number of bytes written. */
+        private long count;
+
+        /**
+         * Creates an instance of output stream counting bytes written to underlying stream.
+         * <p/>
+         *
+         * @param out Underlying output stream.
+         */
+        private CountingOutputStream(final OutputStream out) {
+            super(out);
+            this.count = 0;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Class attributes //
     ////////////////////////////////////////////////////////////////////////////
@@ -73,6 +118,12 @@ public class RunnerHttpDeploy extends RunnerHttp {
     /** Deploy command <code>force</code> parameter value. */
     private static final boolean FORCE_VALUE = true;
 
+    /**
+     * Ratio of compressed and uncompressed entries size below which archive content is considered
+     * as already compressed.
+     */
+    private static final double COMPRESSED_RATIO = 0.9;
+
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -155,6 +206,32 @@ public class RunnerHttpDeploy extends RunnerHttp {
         return sb.toString();
     }
 
+    /**
+     * Check whether archive entries are already compressed so compressing archive again does not pay
+     * off. Only archive central directory is read, no entry is inflated.
+     * <p/>
+     *
+     * @param archive Archive file.
+     * @return Value of <code>true</code> when archive entries are already compressed.
+     */
+    private static boolean isCompressed(final File archive) {
+        long size = 0;
+        long compressedSize = 0;
+        try (ZipFile zip = new ZipFile(archive)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getSize() > 0 && entry.getCompressedSize() > 0) {
+                    size += entry.getSize();
+                    compressedSize += entry.getCompressedSize();
+                }
+            }
+        } catch (IOException ioe) {
+            return false;
+        }
+        return size > 0 && compressedSize < size * COMPRESSED_RATIO;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Instance attributes //
     ////////////////////////////////////////////////////////////////////////////
@@ -219,9 +296,14 @@ public class RunnerHttpDeploy extends RunnerHttp {
         InputStream istream = getInputStream();
         if (istream != null) {
             ZipOutputStream ostream = null;
+            CountingOutputStream counter = null;
             try {
+                counter = new CountingOutputStream(hconn.getOutputStream());
                 ostream = new ZipOutputStream(new BufferedOutputStream(
-                        hconn.getOutputStream(), 1024 * 1024));
+                        counter, 1024 * 1024));
+                if (isCompressed(command.path)) {
+                    ostream.setLevel(Deflater.NO_COMPRESSION);
+                }
                 ZipEntry e = new ZipEntry(command.path.getName());
                 e.setExtra(getExtraProperties());
                 ostream.putNextEntry(e);
@@ -248,6 +330,12 @@ public class RunnerHttpDeploy extends RunnerHttp {
                         LOGGER.log(Level.INFO, METHOD, "ioException", ex);
                     }
                 }
+                if (counter != null) {
+                    final long sent = counter.count;
+                    LOGGER.log(Level.FINE, METHOD, "sent", () -> new Object[] {
+                            command.path.getName(), Long.toString(sent),
+                            Long.toString(command.path.length()) });
+                }
             }
         } else if ("POST".equalsIgnoreCase(getRequestMethod())) {
             LOGGER.log(Level.INFO, METHOD, "noData");
@@ -25,11 +25,14 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.admin.response.ResponseContentType;
 import org.eclipse.payara.tools.sdk.admin.response.ResponseParserFactory;
 import org.eclipse.payara.tools.sdk.admin.response.RestActionReport;
 import org.eclipse.payara.tools.sdk.admin.response.RestResponseParser;
+import org.eclipse.payara.tools.sdk.logging.Logger;
 import org.eclipse.payara.tools.sdk.utils.ServerUtils;
 import org.eclipse.payara.tools.server.PayaraServer;
 
@@ -43,6 +46,13 @@ import org.eclipse.payara.tools.server.PayaraServer;
  */
 public class RunnerRest extends Runner {
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(RunnerRest.class);
+
     ////////////////////////////////////////////////////////////////////////////
     // Instance attributes //
     ////////////////////////////////////////////////////////////////////////////
@@ -241,7 +251,12 @@ public class RunnerRest extends Runner {
      */
     @Override
     protected boolean readResponse(InputStream in, HttpURLConnection hconn) {
+        final String METHOD = "readResponse";
+        final long start = System.nanoTime();
         report = parser.parse(in);
+        LOGGER.log(Level.FINE, METHOD, "parsed", () -> new Object[] {
+                command.getCommand(), getResponseType(),
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) });
         return isSuccess();
     }
 
@@ -19,13 +19,18 @@
 package org.eclipse.payara.tools.sdk.admin;
 
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.zip.GZIPInputStream;
@@ -39,11 +44,66 @@ import org.eclipse.payara.tools.server.PayaraServer;
  * <p/>
  * Class implements GlassFish server administration functionality trough HTTP interface.
  * <p/>
+ * Raw log data of single poll are buffered in memory up to the limit given by
+ * {@link CommandFetchLogData} and handed over to the caller as {@link ValueLog} once the whole
+ * response was read. They are not streamed into the consumer, so the command execution thread is
+ * never blocked by a slow log reader. Data exceeding the limit are discarded from the beginning up to
+ * the next line break, so kept data always start with a whole line.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
 public class RunnerRestFetchLogData extends RunnerRest {
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Input stream counting bytes read.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        /** Number of bytes read. */
+        private long count;
+
+        /**
+         * Creates an instance of input stream counting bytes read.
+         * <p/>
+         *
+         * @param in Stream to read data from.
+         */
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Size of buffer used to read server response. */
+    private static final int BUFFER_SIZE = 8192;
+
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -77,6 +137,18 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     private List<String> lines;
 
+    /** Number of received log bytes after decompression. */
+    private long bytes;
+
+    /** Number of received log lines. */
+    private int lineCount;
+
+    /** Raw log data chunks, oldest first. */
+    private List<byte[]> data = Collections.emptyList();
+
+    /** Number of raw log bytes discarded because of raw data limit. */
+    private long dropped;
+
     /**
      * Content of HTTP header <code>X-Text-Append-Next</code>.
      * <p/>
@@ -140,18 +212,22 @@ public class RunnerRestFetchLogData extends RunnerRest {
     /**
      * Inform whether this runner implementation accepts gzip format.
      * <p/>
+     * Server log is plain text which compresses well so gzip is always accepted.
+     * <p/>
      *
      * @return <code>true</code> when gzip format is accepted, <code>false</code> otherwise.
      */
     @Override
     public boolean acceptsGzip() {
-        return false;
+        return true;
     }
 
     /**
      * Reads response from server and stores it into internal objects.
      * <p/>
-     * Retrieved lines of server log are stored in internal <code>lines</code> <code>List</code>.
+     * When command requested raw data, decoded log data are stored in bounded internal
+     * <code>data</code> chunks. Otherwise retrieved lines of server log are stored in internal
+     * <code>lines</code> <code>List</code>.
      * Content of HTTP header <code>X-Text-Append-Next</code> is stored in internal
      * <code>headerAppendNext</code> variable.
      * <p/>
@@ -167,27 +243,30 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     @Override
     public boolean readResponse(InputStream in, HttpURLConnection hconn) {
-        lines = new LinkedList<>();
         String ce = hconn.getContentEncoding();
-        BufferedReader br = null;
-        String line = null;
+        int rawLimit = ((CommandFetchLogData) command).rawLimit;
+        InputStream cooked = null;
+        bytes = 0;
+        lineCount = 0;
+        dropped = 0;
         try {
-            InputStream cooked = null != ce && ce.contains("gzip")
-                    ? new GZIPInputStream(in)
+            cooked = null != ce && ce.contains("gzip")
+                    ? new GZIPInputStream(in, BUFFER_SIZE)
                     : in;
-            br = new BufferedReader(new java.io.InputStreamReader(cooked));
-            while ((line = br.readLine()) != null) {
-                if (line != null) {
-                    lines.add(line);
-                }
+            if (rawLimit >= 0) {
+                lines = Collections.emptyList();
+                readRaw(cooked, rawLimit);
+            } else {
+                lines = new ArrayList<>();
+                readLines(cooked);
             }
         } catch (IOException ioe) {
             throw new CommandException(CommandException.HTTP_RESP_IO_EXCEPTION,
                     ioe);
         } finally {
             try {
-                if (br != null) {
-                    br.close();
+                if (cooked != null) {
+                    cooked.close();
                 }
             } catch (IOException ioe) {
                 Logger.log(Level.WARNING, ioe.getLocalizedMessage(), ioe);
@@ -205,6 +284,90 @@ public class RunnerRestFetchLogData extends RunnerRest {
         return queryAppendNext != null;
     }
 
+    /**
+     * Read decoded log data into internal <code>data</code> chunks.
+     * <p/>
+     * Whole response is always read so connection is not held longer than necessary. Oldest chunks
+     * are discarded when stored data exceed given limit and kept data are then trimmed to start after
+     * the next line break.
+     * <p/>
+     *
+     * @param in Decoded response stream.
+     * @param limit Maximum number of log bytes kept.
+     * @throws IOException when response could not be read.
+     */
+    private void readRaw(final InputStream in, final int limit) throws IOException {
+        Deque<byte[]> chunks = new ArrayDeque<>();
+        long stored = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            for (int i = 0; i < count; i++) {
+                if (buffer[i] == '\n') {
+                    lineCount++;
+                }
+            }
+            bytes += count;
+            chunks.addLast(Arrays.copyOf(buffer, count));
+            stored += count;
+            while (stored > limit && !chunks.isEmpty()) {
+                int length = chunks.removeFirst().length;
+                stored -= length;
+                dropped += length;
+            }
+        }
+        if (dropped > 0) {
+            trimPartialLine(chunks);
+        }
+        data = new ArrayList<>(chunks);
+    }
+
+    /**
+     * Discard data up to and including the first line break, so data do not start with the rest of a
+     * line whose beginning was discarded. Data are kept as they are when they contain no line break.
+     * <p/>
+     *
+     * @param chunks Raw log data chunks, oldest first.
+     */
+    private void trimPartialLine(final Deque<byte[]> chunks) {
+        int skip = 0;
+        for (byte[] chunk : chunks) {
+            for (int i = 0; i < chunk.length; i++) {
+                if (chunk[i] == '\n') {
+                    skip += i + 1;
+                    while (skip > 0) {
+                        byte[] first = chunks.removeFirst();
+                        if (first.length > skip) {
+                            chunks.addFirst(Arrays.copyOfRange(first, skip, first.length));
+                        }
+                        dropped += Math.min(skip, first.length);
+                        skip -= first.length;
+                    }
+                    return;
+                }
+            }
+            skip += chunk.length;
+        }
+    }
+
+    /**
+     * Read decoded log lines into internal <code>lines</code> <code>List</code>.
+     * <p/>
+     *
+     * @param in Decoded response stream.
+     * @throws IOException when response could not be read.
+     */
+    private void readLines(final InputStream in) throws IOException {
+        CountingInputStream counter = new CountingInputStream(in);
+        BufferedReader br = new BufferedReader(new InputStreamReader(counter), BUFFER_SIZE);
+        String line;
+        while ((line = br.readLine()) != null) {
+            lines.add(line);
+        }
+        bytes = counter.count;
+        lineCount = lines.size();
+    }
+
     /**
      * Extracts result value from internal <code>Manifest</code> object. Value of <i>message</i>
      * attribute in <code>Manifest</code> object is stored as <i>value</i> into
@@ -216,13 +379,7 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     @Override
     protected boolean processResponse() {
-        // Make ArrayList copy of stored lines. ArrayList allows better access
-        // to log values.
-        List logLines = new ArrayList(lines.size());
-        for (String line : lines) {
-            logLines.add(line);
-        }
-        result.value = new ValueLog(logLines, headerAppendNext.getQuery());
+        result.value = new ValueLog(lines, headerAppendNext.getQuery(), bytes, lineCount, data, dropped);
         return true;
     }
 
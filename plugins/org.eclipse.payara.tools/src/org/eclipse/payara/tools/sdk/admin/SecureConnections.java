@@ -0,0 +1,259 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.admin;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.eclipse.payara.tools.server.PayaraServer;
+
+/**
+ * SSL configuration of secure connections to GlassFish server administration interface.
+ * <p/>
+ * <code>SSLContext</code> is created once for each server (host and administration port) and shared
+ * by all commands passed to this server so TLS sessions are cached and resumed. Server certificate
+ * is trusted without validation unless server has pinned certificate fingerprint configured.
+ * <p/>
+ */
+public final class SecureConnections {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Trust manager accepting any server certificate.
+     * <p/>
+     * Administration interface of local development servers uses self signed certificates.
+     */
+    private static final class TrustAll implements X509TrustManager {
+
+        @Override
+        public void checkClientTrusted(final X509Certificate[] chain, final String authType)
+                throws CertificateException {
+        }
+
+        @Override
+        public void checkServerTrusted(final X509Certificate[] chain, final String authType)
+                throws CertificateException {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+
+    }
+
+    /**
+     * Trust manager accepting only server certificate with given SHA-256 fingerprint.
+     */
+    private static final class TrustPinned implements X509TrustManager {
+
+        /** Expected server certificate SHA-256 fingerprint (lower case hex without separators). */
+        private final String fingerprint;
+
+        /**
+         * Creates an instance of trust manager accepting only server certificate with given
+         * fingerprint.
+         * <p/>
+         *
+         * @param fingerprint Expected server certificate SHA-256 fingerprint.
+         */
+        private TrustPinned(final String fingerprint) {
+            this.fingerprint = normalize(fingerprint);
+        }
+
+        @Override
+        public void checkClientTrusted(final X509Certificate[] chain, final String authType)
+                throws CertificateException {
+            throw new CertificateException("Client certificates are not trusted.");
+        }
+
+        @Override
+        public void checkServerTrusted(final X509Certificate[] chain, final String authType)
+                throws CertificateException {
+            if (chain == null || chain.length == 0) {
+                throw new CertificateException("Server certificate is missing.");
+            }
+            if (!fingerprint.equals(fingerprint(chain[0]))) {
+                throw new CertificateException(
+                        "Server certificate does not match pinned fingerprint " + fingerprint + ".");
+            }
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+
+    }
+
+    /**
+     * SSL configuration of single server.
+     */
+    private static final class Config {
+
+        /** Pinned server certificate fingerprint or <code>null</code> to trust any certificate. */
+        private final String fingerprint;
+
+        /** Socket factory of shared <code>SSLContext</code>. */
+        private final SSLSocketFactory factory;
+
+        /**
+         * Creates an instance of SSL configuration of single server.
+         * <p/>
+         *
+         * @param fingerprint Pinned server certificate fingerprint.
+         * @param factory Socket factory of shared <code>SSLContext</code>.
+         */
+        private Config(final String fingerprint, final SSLSocketFactory factory) {
+            this.fingerprint = fingerprint;
+            this.factory = factory;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** SSL protocol used for administration connections. */
+    private static final String PROTOCOL = "TLS";
+
+    /** Maximum number of cached TLS sessions for single server. */
+    private static final int SESSION_CACHE_SIZE = 16;
+
+    /** Cached TLS session timeout [s]. */
+    private static final int SESSION_TIMEOUT = 3600;
+
+    /** Hex digits used to print certificate fingerprint. */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Host name verifier accepting any host. Server identity is not verified for administration
+     * connections.
+     */
+    static final HostnameVerifier TRUST_ALL_HOSTS = (host, session) -> true;
+
+    /** SSL configurations mapped to <code>host:port</code> keys. */
+    private static final Map<String, Config> configs = new ConcurrentHashMap<>();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Normalize certificate fingerprint to lower case hex digits without separators.
+     * <p/>
+     *
+     * @param fingerprint Certificate fingerprint (e.g. <code>AB:CD:...</code>).
+     * @return Normalized certificate fingerprint.
+     */
+    private static String normalize(final String fingerprint) {
+        return fingerprint.replaceAll("[^0-9A-Fa-f]", "").toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Compute SHA-256 fingerprint of given certificate.
+     * <p/>
+     *
+     * @param certificate Certificate to be examined.
+     * @return Certificate SHA-256 fingerprint (lower case hex without separators).
+     * @throws CertificateException when fingerprint could not be computed.
+     */
+    public static String fingerprint(final X509Certificate certificate) throws CertificateException {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded());
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new CertificateException(nsae);
+        }
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(HEX[(b >> 4) & 0x0f]).append(HEX[b & 0x0f]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Get socket factory for secure connections to administration interface of given server.
+     * <p/>
+     * Shared <code>SSLContext</code> is initialized on first access and recreated only when pinned
+     * certificate fingerprint of the server changes.
+     * <p/>
+     *
+     * @param server GlassFish server entity.
+     * @return Socket factory for secure connections to given server.
+     * @throws GeneralSecurityException when <code>SSLContext</code> could not be initialized.
+     */
+    static SSLSocketFactory socketFactory(final PayaraServer server) throws GeneralSecurityException {
+        String key = server.getHost() + ':' + server.getAdminPort();
+        String fingerprint = server.getAdminCertificateFingerprint();
+        if (fingerprint != null && fingerprint.trim().isEmpty()) {
+            fingerprint = null;
+        }
+        Config config = configs.get(key);
+        if (config != null && Objects.equals(config.fingerprint, fingerprint)) {
+            return config.factory;
+        }
+        TrustManager trustManager = fingerprint != null ? new TrustPinned(fingerprint) : new TrustAll();
+        SSLContext context = SSLContext.getInstance(PROTOCOL);
+        context.init(null, new TrustManager[] { trustManager }, null);
+        SSLSessionContext sessions = context.getClientSessionContext();
+        if (sessions != null) {
+            sessions.setSessionCacheSize(SESSION_CACHE_SIZE);
+            sessions.setSessionTimeout(SESSION_TIMEOUT);
+        }
+        config = new Config(fingerprint, context.getSocketFactory());
+        configs.put(key, config);
+        return config.factory;
+    }
+
+    /**
+     * Remove SSL configuration of given server.
+     * <p/>
+     * Cached TLS sessions are dropped and new <code>SSLContext</code> is created with next secure
+     * connection.
+     * <p/>
+     *
+     * @param host Server host.
+     * @param port Server administration port.
+     */
+    public static void reset(final String host, final int port) {
+        configs.remove(host + ':' + port);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Do not instantiate this class.
+     */
+    private SecureConnections() {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -74,7 +74,7 @@ public class ServerAdmin {
     /**
      * Execute remote administration command on GlassFish server.
      * <p>
-     * Execution of administration command is serialized using internal executor.
+     * Execution of administration command is serialized using executor lane of target server.
      * <p>
      *
      * @param payaraServer Target GlassFish server.
@@ -146,7 +146,7 @@ public class ServerAdmin {
     /**
      * Execute remote administration command on GlassFish server.
      * <p>
-     * Execution of administration command is serialized using internal executor.
+     * Execution of administration command is serialized using executor lane of target server.
      * <p>
      *
      * @param payaraServer Target GlassFish server.
@@ -18,6 +18,9 @@
 
 package org.eclipse.payara.tools.sdk.admin;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.payara.tools.sdk.utils.Utils;
@@ -47,6 +50,18 @@ public class ValueLog {
      */
     final String paramsAppendNext;
 
+    /** Number of received log bytes. */
+    final long bytes;
+
+    /** Number of received log lines. */
+    final int lineCount;
+
+    /** Raw log data chunks, empty when log lines were requested. */
+    final List<byte[]> data;
+
+    /** Number of raw log bytes discarded because of raw data limit. */
+    final long dropped;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -62,8 +77,47 @@ public class ValueLog {
      * @param paramsAppendNext URL parameters from HTTP header <code>X-Text-Append-Next</code>
      */
     ValueLog(List<String> lines, String paramsAppendNext) {
+        this(lines, paramsAppendNext, 0, lines != null ? lines.size() : 0);
+    }
+
+    /**
+     * Creates an instance of GlassFish server log entity with received data statistics.
+     * <p/>
+     * Entity is initialized with values stored in <code>Runner</code> internal attributes in
+     * <code>processResponse</code> method.
+     * <p/>
+     *
+     * @param lines GlassFish server log lines, empty when log was streamed.
+     * @param paramsAppendNext URL parameters from HTTP header <code>X-Text-Append-Next</code>
+     * @param bytes Number of received log bytes.
+     * @param lineCount Number of received log lines.
+     */
+    ValueLog(List<String> lines, String paramsAppendNext, long bytes, int lineCount) {
+        this(lines, paramsAppendNext, bytes, lineCount, Collections.<byte[]>emptyList(), 0);
+    }
+
+    /**
+     * Creates an instance of GlassFish server log entity with raw log data.
+     * <p/>
+     * Entity is initialized with values stored in <code>Runner</code> internal attributes in
+     * <code>processResponse</code> method.
+     * <p/>
+     *
+     * @param lines GlassFish server log lines, empty when raw data were requested.
+     * @param paramsAppendNext URL parameters from HTTP header <code>X-Text-Append-Next</code>
+     * @param bytes Number of received log bytes.
+     * @param lineCount Number of received log lines.
+     * @param data Raw log data chunks.
+     * @param dropped Number of raw log bytes discarded because of raw data limit.
+     */
+    ValueLog(List<String> lines, String paramsAppendNext, long bytes, int lineCount,
+            List<byte[]> data, long dropped) {
         this.lines = lines;
         this.paramsAppendNext = paramsAppendNext;
+        this.bytes = bytes;
+        this.lineCount = lineCount;
+        this.data = data;
+        this.dropped = dropped;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -90,10 +144,54 @@ public class ValueLog {
         return paramsAppendNext;
     }
 
+    /**
+     * Get number of received log bytes.
+     * <p/>
+     *
+     * @return Number of received log bytes after decompression.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get number of received log lines.
+     * <p/>
+     *
+     * @return Number of received log lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Get number of raw log bytes discarded because response exceeded raw data limit.
+     * <p/>
+     *
+     * @return Number of discarded raw log bytes.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Methods //
     ////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Write raw log data into given stream.
+     * <p/>
+     *
+     * @param out Stream where raw log data are written.
+     * @throws IOException when stream could not be written.
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        for (byte[] chunk : data) {
+            out.write(chunk);
+        }
+        out.flush();
+    }
+
     /**
      * Convert stored server log lines to <code>String</code>.
      * <p>
@@ -0,0 +1,374 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.admin.response;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Minimal streaming JSON reader.
+ * <p>
+ * Reads JSON tokens one by one from underlying <code>Reader</code> so response objects can be built
+ * without intermediate document tree. Only features used by REST administration interface responses
+ * are supported. Separators between members and elements are consumed and checked by
+ * {@link #hasNext()}.
+ * <p>
+ */
+final class JsonReader {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** End of input marker. */
+    private static final int EOF = -1;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Source of JSON characters. */
+    private final Reader in;
+
+    /** Character buffer. */
+    private final char[] buffer = new char[8192];
+
+    /** Position of next character in buffer. */
+    private int pos;
+
+    /** Number of valid characters in buffer. */
+    private int limit;
+
+    /** Reused string value builder. */
+    private final StringBuilder sb = new StringBuilder();
+
+    /** Open objects and arrays, <code>true</code> when member or element was already read. */
+    private boolean[] nested = new boolean[16];
+
+    /** Number of open objects and arrays. */
+    private int depth;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of streaming JSON reader.
+     * <p>
+     *
+     * @param in Source of JSON characters.
+     */
+    JsonReader(final Reader in) {
+        this.in = in;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get first character of next value without consuming it.
+     * <p>
+     *
+     * @return First character of next value or <code>-1</code> at the end of input.
+     * @throws IOException when input could not be read.
+     */
+    int peek() throws IOException {
+        skipWhitespace();
+        return pos < limit ? buffer[pos] : EOF;
+    }
+
+    /**
+     * Consume start of object.
+     *
+     * @throws IOException when next token is not start of object.
+     */
+    void beginObject() throws IOException {
+        expect('{');
+        push();
+    }
+
+    /**
+     * Consume end of object.
+     *
+     * @throws IOException when next token is not end of object.
+     */
+    void endObject() throws IOException {
+        expect('}');
+        depth--;
+    }
+
+    /**
+     * Consume start of array.
+     *
+     * @throws IOException when next token is not start of array.
+     */
+    void beginArray() throws IOException {
+        expect('[');
+        push();
+    }
+
+    /**
+     * Consume end of array.
+     *
+     * @throws IOException when next token is not end of array.
+     */
+    void endArray() throws IOException {
+        expect(']');
+        depth--;
+    }
+
+    /**
+     * Check whether current object or array has another member or element. Separator preceding next
+     * member or element is consumed.
+     * <p>
+     *
+     * @return Value of <code>true</code> when there is another member or element.
+     * @throws IOException when input could not be read or separator is missing or misplaced.
+     */
+    boolean hasNext() throws IOException {
+        int c = peek();
+        boolean started = depth > 0 && nested[depth - 1];
+        if (c == '}' || c == ']' || c == EOF) {
+            return false;
+        }
+        if (started) {
+            if (c != ',') {
+                throw syntaxError("','");
+            }
+            pos++;
+            c = peek();
+            if (c == '}' || c == ']' || c == EOF) {
+                throw syntaxError("member or element");
+            }
+        } else if (c == ',') {
+            throw syntaxError("member or element");
+        }
+        if (depth > 0) {
+            nested[depth - 1] = true;
+        }
+        return true;
+    }
+
+    /**
+     * Read name of object member including name separator.
+     * <p>
+     *
+     * @return Member name.
+     * @throws IOException when next token is not member name.
+     */
+    String nextName() throws IOException {
+        if (peek() != '"') {
+            throw syntaxError("member name");
+        }
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Read scalar value as <code>String</code>. Numbers and boolean values are returned as they
+     * appear in input.
+     * <p>
+     *
+     * @return Value or <code>null</code> for JSON <code>null</code>.
+     * @throws IOException when next token is not scalar value.
+     */
+    String nextString() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[' || c == EOF) {
+            throw syntaxError("scalar value");
+        }
+        String literal = readLiteral();
+        return "null".equals(literal) ? null : literal;
+    }
+
+    /**
+     * Skip next value including nested objects and arrays.
+     * <p>
+     *
+     * @throws IOException when input could not be read.
+     */
+    void skipValue() throws IOException {
+        int c = peek();
+        if (c == '{') {
+            beginObject();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endObject();
+        } else if (c == '[') {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+            endArray();
+        } else {
+            nextString();
+        }
+    }
+
+    /**
+     * Read quoted string starting at current position.
+     */
+    private String readString() throws IOException {
+        pos++;
+        sb.setLength(0);
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == '"' || c == '\\') {
+                    break;
+                }
+                pos++;
+            }
+            sb.append(buffer, start, pos - start);
+            if (pos == limit) {
+                if (!fill()) {
+                    throw syntaxError("end of string");
+                }
+                continue;
+            }
+            char c = buffer[pos++];
+            if (c == '"') {
+                return sb.toString();
+            }
+            sb.append(readEscape());
+        }
+    }
+
+    /**
+     * Read escape sequence following backslash.
+     */
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(read(), 16);
+                if (digit < 0) {
+                    throw syntaxError("hexadecimal digit");
+                }
+                value = (value << 4) | digit;
+            }
+            return (char) value;
+        case EOF:
+            throw syntaxError("escape sequence");
+        default:
+            return (char) c;
+        }
+    }
+
+    /**
+     * Read unquoted literal, i.e. number, <code>true</code>, <code>false</code> or <code>null</code>.
+     */
+    private String readLiteral() throws IOException {
+        sb.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            char c = buffer[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c)) {
+                break;
+            }
+            sb.append(c);
+            pos++;
+        }
+        if (sb.length() == 0) {
+            throw syntaxError("literal");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Open nested object or array.
+     */
+    private void push() {
+        if (depth == nested.length) {
+            nested = Arrays.copyOf(nested, depth * 2);
+        }
+        nested[depth++] = false;
+    }
+
+    /**
+     * Consume given structural character.
+     */
+    private void expect(final char expected) throws IOException {
+        if (peek() != expected) {
+            throw syntaxError("'" + expected + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Read single character.
+     */
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos++];
+    }
+
+    /**
+     * Skip whitespace characters.
+     */
+    private void skipWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return;
+            }
+            if (!Character.isWhitespace(buffer[pos])) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Read next chunk of input into buffer.
+     */
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            pos = limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = count;
+        return true;
+    }
+
+    /**
+     * Build exception reporting unexpected input.
+     */
+    private IOException syntaxError(final String expected) {
+        return new IOException("Malformed JSON, expected " + expected);
+    }
+
+}
@@ -31,7 +31,7 @@ public class ResponseParserFactory {
 
     private static RestXMLResponseParser xmlParser;
 
-    // private static RestJSONResponseParser jsonParser;
+    private static RestJSONResponseParser jsonParser;
 
     public static synchronized RestResponseParser getRestParser(ResponseContentType contentType) {
         switch (contentType) {
@@ -41,12 +41,10 @@ public class ResponseParserFactory {
             }
             return xmlParser;
         case APPLICATION_JSON:
-            // RestJSONResponseParser is not used in Eclipse Payara Tools and has dependency on
-            // com.googlecode.json-simple 1.1.1, which we don't want to bundle
-            // if (jsonParser == null) {
-            // jsonParser = new RestJSONResponseParser();
-            // }
-            // return jsonParser;
+            if (jsonParser == null) {
+                jsonParser = new RestJSONResponseParser();
+            }
+            return jsonParser;
         case TEXT_PLAIN:
             return null;
         default:
@@ -0,0 +1,144 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.admin.response;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.payara.tools.sdk.PayaraIdeException;
+
+/**
+ * Response parser implementation that can parse JSON responses returned by REST admin interface.
+ * <p>
+ * Report and message parts are built directly from JSON token stream, no intermediate document tree
+ * is created. Members not used by {@link RestActionReport} are skipped.
+ * <p>
+ */
+public class RestJSONResponseParser extends RestResponseParser {
+
+    /**
+     * Parse implementation for JSON REST response.
+     * <p>
+     *
+     * @param in {@link InputStream} with JSON REST response.
+     * @return Response returned by REST administration service.
+     */
+    @Override
+    public RestActionReport parse(InputStream in) {
+        try {
+            JsonReader reader = new JsonReader(new InputStreamReader(in, UTF_8));
+            if (reader.peek() != '{') {
+                return null;
+            }
+            return parseReport(reader);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new PayaraIdeException("Unable to parse JSON Rest response.", ex);
+        }
+    }
+
+    private RestActionReport parseReport(JsonReader reader) throws IOException {
+        RestActionReport report = new RestActionReport();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "message":
+                report.setMessage(reader.nextString());
+                break;
+            case "exit_code":
+                report.setExitCode(ActionReport.ExitCode.valueOf(reader.nextString()));
+                break;
+            case "command":
+                report.setActionDescription(reader.nextString());
+                break;
+            case "properties":
+                report.topMessagePart.props = parseProperties(reader);
+                break;
+            case "children":
+                report.topMessagePart.children = parseChildrenMessages(reader);
+                break;
+            case "subReports":
+                report.subActions = parseSubReports(reader);
+                break;
+            default:
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return report;
+    }
+
+    private List<MessagePart> parseChildrenMessages(JsonReader reader) throws IOException {
+        ArrayList<MessagePart> messages = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            messages.add(parseChildMessage(reader));
+        }
+        reader.endArray();
+        return messages;
+    }
+
+    private MessagePart parseChildMessage(JsonReader reader) throws IOException {
+        MessagePart msg = new MessagePart();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "message":
+                msg.setMessage(reader.nextString());
+                break;
+            case "properties":
+                msg.props = parseProperties(reader);
+                break;
+            case "children":
+                msg.children = parseChildrenMessages(reader);
+                break;
+            default:
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return msg;
+    }
+
+    private Properties parseProperties(JsonReader reader) throws IOException {
+        Properties props = new Properties();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            int next = reader.peek();
+            if (next == '{' || next == '[') {
+                reader.skipValue();
+                continue;
+            }
+            String value = reader.nextString();
+            if (value != null) {
+                props.setProperty(name, value);
+            }
+        }
+        reader.endObject();
+        return props;
+    }
+
+    private List<? extends ActionReport> parseSubReports(JsonReader reader) throws IOException {
+        ArrayList<RestActionReport> subReports = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            subReports.add(parseReport(reader));
+        }
+        reader.endArray();
+        return subReports;
+    }
+
+}
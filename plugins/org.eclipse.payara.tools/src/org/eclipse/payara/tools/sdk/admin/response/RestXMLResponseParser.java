@@ -20,25 +20,23 @@ package org.eclipse.payara.tools.sdk.admin.response;
 
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 
-import javax.xml.stream.EventFilter;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import org.eclipse.payara.tools.sdk.PayaraIdeException;
 
 /**
  * Response parser implementation that can parse XML responses returned by REST admin interface.
  * <p>
+ * Parser uses StAX cursor API so no event objects are created while walking the response. Only
+ * attribute values used in {@link RestActionReport} are materialized. Factory is shared by all
+ * parses.
+ * <p>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -46,9 +44,10 @@ public class RestXMLResponseParser extends RestResponseParser {
 
     private static final String ENTRY = "entry";
     private static final String MAP = "map";
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
 
     private static final XMLInputFactory factory = XMLInputFactory.newInstance();
-    private static final RestXMLResponseFilter filter = new RestXMLResponseFilter();
 
     public RestXMLResponseParser() {
 
@@ -67,150 +66,183 @@ public class RestXMLResponseParser extends RestResponseParser {
      */
     @Override
     public RestActionReport parse(InputStream in) {
-        // System.out.println("FACTORY: " + factory);
+        XMLStreamReader reader = null;
         try {
-            XMLEventReader reader = factory.createFilteredReader(factory.createXMLEventReader(in), filter);
-            if (reader.hasNext() && MAP.equals(reader.nextEvent().asStartElement().getName().getLocalPart())) {
+            reader = factory.createXMLStreamReader(in);
+            if (nextChild(reader) && MAP.equals(reader.getLocalName())) {
                 return parseReport(reader);
             } else {
                 return null;
             }
         } catch (XMLStreamException ex) {
             throw new PayaraIdeException("Unable to parse XML Rest response.", ex);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ex) {
+                    // Nothing to release
+                }
+            }
         }
     }
 
-    private RestActionReport parseReport(XMLEventReader reader) throws XMLStreamException {
-        int level = 0;
+    /*
+     * Parse report from <map> element, reader is left at its end element.
+     */
+    private RestActionReport parseReport(XMLStreamReader reader) throws XMLStreamException {
         RestActionReport report = new RestActionReport();
-        while (reader.hasNext() && (level > -1)) {
-            XMLEvent event = reader.nextEvent();
-            if (event.isStartElement()) {
-
-                if (level++ == 0) {
-                    StartElement element = event.asStartElement();
-                    String elementName = element.getName().getLocalPart();
-                    if (ENTRY.equals(elementName)) {
-                        Map<String, String> m = getMapEntry(element);
-                        String key = m.get("key");
-                        String value = m.get("value");
-                        switch (key) {
-                        case "message":
-                            report.setMessage(value);
-                            break;
-                        case "exit_code":
-                            report.setExitCode(ActionReport.ExitCode.valueOf(value));
-                            break;
-                        case "command":
-                            report.setActionDescription(value);
-                            break;
-                        case "children":
-                            report.topMessagePart.children = parseChildrenMessages(reader);
-                            level--;
-                            break;
-                        case "subReports":
-                            report.subActions = parseSubReports(reader);
-                            break;
-                        }
-                    }
-                }
-
+        while (nextChild(reader)) {
+            String key = entryKey(reader);
+            if (key == null) {
+                skip(reader);
+                continue;
             }
-
-            if (event.isEndElement()) {
-                level--;
+            switch (key) {
+            case "message":
+                report.setMessage(reader.getAttributeValue(null, VALUE));
+                skip(reader);
+                break;
+            case "exit_code":
+                report.setExitCode(ActionReport.ExitCode.valueOf(reader.getAttributeValue(null, VALUE)));
+                skip(reader);
+                break;
+            case "command":
+                report.setActionDescription(reader.getAttributeValue(null, VALUE));
+                skip(reader);
+                break;
+            case "properties":
+                report.topMessagePart.props = parseProperties(reader);
+                break;
+            case "children":
+                report.topMessagePart.children = parseChildrenMessages(reader);
+                break;
+            case "subReports":
+                report.subActions = parseSubReports(reader);
+                break;
+            default:
+                skip(reader);
             }
         }
         return report;
     }
 
-    private HashMap<String, String> getMapEntry(StartElement entry) {
-        HashMap<String, String> entryMap = new HashMap<>();
-        Iterator iter = entry.getAttributes();
-        while (iter.hasNext()) {
-            Attribute att = (Attribute) iter.next();
-            entryMap.put(att.getName().getLocalPart(), att.getValue());
-        }
-        return entryMap;
-    }
-
-    private List<MessagePart> parseChildrenMessages(XMLEventReader reader) throws XMLStreamException {
+    /*
+     * Parse <entry><list><map/>...</list></entry> content into message parts.
+     */
+    private List<MessagePart> parseChildrenMessages(XMLStreamReader reader) throws XMLStreamException {
         ArrayList<MessagePart> messages = new ArrayList<>();
-        int level = 0;
-        while (reader.hasNext() && (level > -1)) {
-            XMLEvent event = reader.nextEvent();
-            if (event.isStartElement()) {
-                if (level++ == 1) {
-                    StartElement element = event.asStartElement();
-                    String elementName = element.getName().getLocalPart();
-                    if (MAP.equals(elementName)) {
-                        messages.add(parseChildMessage(reader));
-                        level--;
-                    }
+        while (nextChild(reader)) {
+            while (nextChild(reader)) {
+                if (MAP.equals(reader.getLocalName())) {
+                    messages.add(parseChildMessage(reader));
+                } else {
+                    skip(reader);
                 }
-            } else {
-                level--;
             }
-
         }
         return messages;
     }
 
-    private MessagePart parseChildMessage(XMLEventReader reader) throws XMLStreamException {
+    private MessagePart parseChildMessage(XMLStreamReader reader) throws XMLStreamException {
         MessagePart msg = new MessagePart();
-        int level = 0;
-        while (reader.hasNext() && (level > -1)) {
-            XMLEvent event = reader.nextEvent();
-            if (event.isStartElement()) {
-                if (level++ == 0) {
-                    StartElement element = event.asStartElement();
-                    String elementName = element.getName().getLocalPart();
-                    if (ENTRY.equals(elementName)) {
-                        Map<String, String> m = getMapEntry(element);
-                        String key = m.get("key");
-                        String value = m.get("value");
-                        switch (key) {
-                        case "message":
-                            msg.setMessage(value);
-                            break;
-                        case "properties":
-                            msg.props = parseProperties(reader);
-                            break;
-                        case "children":
-                            msg.children = parseChildrenMessages(reader);
-                            break;
-                        }
-                    }
-                }
-            } else {
-                level--;
+        while (nextChild(reader)) {
+            String key = entryKey(reader);
+            if (key == null) {
+                skip(reader);
+                continue;
+            }
+            switch (key) {
+            case "message":
+                msg.setMessage(reader.getAttributeValue(null, VALUE));
+                skip(reader);
+                break;
+            case "properties":
+                msg.props = parseProperties(reader);
+                break;
+            case "children":
+                msg.children = parseChildrenMessages(reader);
+                break;
+            default:
+                skip(reader);
             }
         }
         return msg;
     }
 
-    private Properties parseProperties(XMLEventReader reader) {
+    /*
+     * Parse <entry><map><entry key="" value=""/>...</map></entry> content into properties.
+     */
+    private Properties parseProperties(XMLStreamReader reader) throws XMLStreamException {
         Properties props = new Properties();
-        // TODO parsing of properties
+        while (nextChild(reader)) {
+            while (nextChild(reader)) {
+                String key = entryKey(reader);
+                String value = key != null ? reader.getAttributeValue(null, VALUE) : null;
+                if (value != null) {
+                    props.setProperty(key, value);
+                }
+                skip(reader);
+            }
+        }
         return props;
     }
 
-    private List<? extends ActionReport> parseSubReports(XMLEventReader reader) {
+    /*
+     * Parse <entry><list><map/>...</list></entry> content into reports.
+     */
+    private List<? extends ActionReport> parseSubReports(XMLStreamReader reader) throws XMLStreamException {
         ArrayList<RestActionReport> subReports = new ArrayList<>();
+        while (nextChild(reader)) {
+            while (nextChild(reader)) {
+                if (MAP.equals(reader.getLocalName())) {
+                    subReports.add(parseReport(reader));
+                } else {
+                    skip(reader);
+                }
+            }
+        }
         return subReports;
     }
 
-    static private class RestXMLResponseFilter implements EventFilter {
+    /*
+     * Key of <entry> element at reader position or null for other elements.
+     */
+    private static String entryKey(XMLStreamReader reader) {
+        return ENTRY.equals(reader.getLocalName()) ? reader.getAttributeValue(null, KEY) : null;
+    }
 
-        @Override
-        public boolean accept(XMLEvent event) {
-            if (event.isStartElement() || event.isEndElement()) {
+    /*
+     * Move to next child element of current element. Returns false when end of current element was
+     * reached instead. Previous child must be fully consumed.
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
                 return true;
-            } else {
+            case XMLStreamConstants.END_ELEMENT:
                 return false;
             }
         }
+        return false;
+    }
 
+    /*
+     * Skip current element including its content, reader is left at its end element.
+     */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int level = 1;
+        while (level > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                level++;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                level--;
+                break;
+            }
+        }
     }
 
 }
@@ -19,11 +19,13 @@
 package org.eclipse.payara.tools.sdk.logging;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.text.MessageFormat;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.utils.JavaUtils;
@@ -33,6 +35,10 @@ import org.eclipse.payara.tools.sdk.utils.JavaUtils;
  * <p>
  * Facade to access IDE Logger methods.
  * <p>
+ * Messages are logged only when logger is enabled for given level. Message key is not built, message
+ * catalog is not searched and lazily supplied arguments are not evaluated otherwise. Resolved
+ * message templates are cached in each logger instance.
+ * <p>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -121,10 +127,10 @@ public class Logger {
     private static final char KEY_SEPARATOR = '.';
 
     /** Log messages cache for individual packages. */
-    private static final Map<Package, Properties> logProps = new HashMap<>();
+    private static final Map<Package, Properties> logProps = new ConcurrentHashMap<>();
 
     /** Exception messages cache for individual packages. */
-    private static final Map<Package, Properties> excProps = new HashMap<>();
+    private static final Map<Package, Properties> excProps = new ConcurrentHashMap<>();
 
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
@@ -162,29 +168,23 @@ public class Logger {
     private static String message(final String file,
             final Map<Package, Properties> propsMap, final Class c,
             final String key) {
-        Package pkg = c.getPackage();
-        Properties props;
-        synchronized (propsMap) {
-            props = propsMap.get(pkg);
-            if (props == null) {
-                props = new Properties();
-                URL url = JavaUtils.getPropertiesURL(
-                        c, buildPropertiesFileName(file, false));
-                if (url != null) {
-                    try {
-                        url.openStream();
-                        props.load(url.openStream());
-                        // Initialize properties as empty and send log message
-                        // on IOException
-                    } catch (IOException ioe) {
-                        props = new Properties();
-                        // Logger.log(Level.INFO, "Error reading {0} from {1}",
-                        // new String[] {file, pkg.getName()});
-                    }
+        Properties props = propsMap.computeIfAbsent(c.getPackage(), pkg -> {
+            Properties loaded = new Properties();
+            URL url = JavaUtils.getPropertiesURL(
+                    c, buildPropertiesFileName(file, false));
+            if (url != null) {
+                try (InputStream in = url.openStream()) {
+                    loaded.load(in);
+                    // Initialize properties as empty and send log message
+                    // on IOException
+                } catch (IOException ioe) {
+                    loaded = new Properties();
+                    // Logger.log(Level.INFO, "Error reading {0} from {1}",
+                    // new String[] {file, pkg.getName()});
                 }
-                propsMap.put(pkg, props);
             }
-        }
+            return loaded;
+        });
         String property = props.getProperty(key);
         return property != null ? property : key;
     }
@@ -226,6 +226,9 @@ public class Logger {
     /** {@link java.util.logging.Logger} instance. */
     private final java.util.logging.Logger logger;
 
+    /** Resolved log message templates mapped to method and key names. */
+    private final Map<String, Map<String, String>> templates = new ConcurrentHashMap<>();
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -270,6 +273,29 @@ public class Logger {
             .toString();
     }
 
+    /**
+     * Return message template from log messages properties file for given method and key.
+     * <p/>
+     * Resolved templates are cached so message key is built only once.
+     * <p/>
+     *
+     * @param method The message string method key.
+     * @param key The message string key.
+     * @return Message template from log messages properties file.
+     */
+    private String template(final String method, final String key) {
+        Map<String, String> methodTemplates = templates.get(method);
+        if (methodTemplates == null) {
+            methodTemplates = templates.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        String template = methodTemplates.get(key);
+        if (template == null) {
+            template = logMsg(clazz, buildKey(method, key));
+            methodTemplates.put(key, template);
+        }
+        return template;
+    }
+
     /**
      * Return message from exception messages properties file with given key.
      * <p/>
@@ -321,7 +347,9 @@ public class Logger {
      * @param key The message string key.
      */
     public void log(Level level, final String method, final String key) {
-        logger.log(level, logMsg(clazz, buildKey(method, key)));
+        if (logger.isLoggable(level)) {
+            logger.log(level, template(method, key));
+        }
     }
 
     /**
@@ -342,7 +370,9 @@ public class Logger {
      */
     public void log(final Level level, final String method, final String key,
             final Throwable thrown) {
-        logger.log(level, logMsg(clazz, buildKey(method, key)), thrown);
+        if (logger.isLoggable(level)) {
+            logger.log(level, template(method, key), thrown);
+        }
     }
 
     /**
@@ -359,7 +389,9 @@ public class Logger {
      */
     public void log(final Level level, final String method, final String key,
             final Object param) {
-        logger.log(level, logMsg(clazz, buildKey(method, key)), param);
+        if (logger.isLoggable(level)) {
+            logger.log(level, template(method, key), param);
+        }
     }
 
     /**
@@ -376,7 +408,34 @@ public class Logger {
      */
     public void log(final Level level, final String method, final String key,
             final Object params[]) {
-        logger.log(level, logMsg(clazz, buildKey(method, key)), params);
+        if (logger.isLoggable(level)) {
+            logger.log(level, template(method, key), params);
+        }
+    }
+
+    /**
+     * Log a message with lazily supplied arguments from log messages catalog.
+     * <p>
+     * Supplier is called only when the logger is currently enabled for the given message level.
+     * Supplied <code>Object[]</code> value is used as an array of parameters to the message, any other
+     * value is used as single parameter.
+     * <p>
+     *
+     * @param level One of the message level identifiers, e.g. SEVERE.
+     * @param method The message string method key.
+     * @param key The message string key.
+     * @param params Supplier of parameters to the message.
+     */
+    public void log(final Level level, final String method, final String key,
+            final Supplier<?> params) {
+        if (logger.isLoggable(level)) {
+            Object value = params.get();
+            if (value instanceof Object[]) {
+                logger.log(level, template(method, key), (Object[]) value);
+            } else {
+                logger.log(level, template(method, key), value);
+            }
+        }
     }
 
     /**
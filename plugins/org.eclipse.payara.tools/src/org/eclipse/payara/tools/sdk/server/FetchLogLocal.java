@@ -18,13 +18,25 @@
 
 package org.eclipse.payara.tools.sdk.server;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.TaskState;
@@ -35,6 +47,11 @@ import org.eclipse.payara.tools.server.PayaraServer;
 /**
  * Fetch GlassFish log from local server.
  * <p/>
+ * Log file is read trough <code>FileChannel</code> in large chunks. Reader task waits for file
+ * system change notifications from <code>WatchService</code> when there is nothing to read. When
+ * <code>WatchService</code> is not available, log file is polled with delay growing while log file
+ * is idle.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -47,6 +64,28 @@ public class FetchLogLocal extends FetchLogPiped {
     /** Logger instance for this class. */
     private static final Logger LOGGER = new Logger(FetchLogLocal.class);
 
+    /** Size of log file read buffer. */
+    static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum time to wait for file system change notification [ms]. Log file is checked after this
+     * delay even when no notification arrived.
+     */
+    static final int WATCH_TIMEOUT = LOG_REFRESH_DELAY;
+
+    /** Initial log file polling delay when <code>WatchService</code> is not available [ms]. */
+    static final int POLL_DELAY_MIN = 50;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Log file channel being read. */
+    private FileChannel channel;
+
+    /** Identity of log file being read (file key or creation time). */
+    private Object fileId;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -91,41 +130,170 @@ public class FetchLogLocal extends FetchLogPiped {
     ////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Initializes active log file <code>InputStream</code> as <code>FileInputStream</code> sending data
-     * from local server log file.
+     * Get identity of log file.
+     * <p/>
+     * File key (inode on Unix) is used when supported by file system, file creation time otherwise.
+     * <p/>
+     *
+     * @param attrs Log file attributes.
+     * @return Identity of log file.
+     */
+    private static Object fileId(final BasicFileAttributes attrs) {
+        Object key = attrs.fileKey();
+        return key != null ? key : attrs.creationTime();
+    }
+
+    /**
+     * Opens active log file channel.
      * <p/>
      *
-     * @return <code>FileInputStream</code> where log lines from server active log file will be
-     * available to read.
+     * @param logFile Server log file.
+     * @param toEnd Position channel at the end of log file.
+     * @return Value of <code>true</code> when log file was opened or <code>false</code> when it does not
+     * exist.
      */
-    private InputStream initInputFile() {
+    private boolean initInputFile(final Path logFile, final boolean toEnd) {
         final String METHOD = "initInputFile";
-        File logFile = ServerUtils.getServerLogFile(server);
-        InputStream log;
         try {
-            log = new FileInputStream(logFile);
-        } catch (FileNotFoundException fnfe) {
-            LOGGER.log(Level.INFO, METHOD,
-                    "fileNotFound", logFile.getAbsolutePath());
-            return null;
+            BasicFileAttributes attrs = Files.readAttributes(logFile, BasicFileAttributes.class);
+            channel = FileChannel.open(logFile, StandardOpenOption.READ);
+            fileId = fileId(attrs);
+            if (toEnd) {
+                channel.position(channel.size());
+            }
+            return true;
+        } catch (NoSuchFileException nsfe) {
+            LOGGER.log(Level.INFO, METHOD, "fileNotFound", logFile.toString());
+            return false;
+        } catch (IOException ioe) {
+            closeInputFile();
+            throw new FetchLogException(LOGGER.excMsg(METHOD, "cantInit"), ioe);
         }
-        if (skip) {
-            int count;
+    }
+
+    /**
+     * Close active log file channel.
+     */
+    private void closeInputFile() {
+        final String METHOD = "closeInputFile";
+        if (channel != null) {
             try {
-                while ((count = log.available()) > 0) {
-                    log.skip(count);
-                }
+                channel.close();
             } catch (IOException ioe) {
+                LOGGER.log(Level.INFO, METHOD, "cantClose", ioe);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Check whether log file was rotated.
+     * <p/>
+     * Log file was rotated when file on log file path has different identity than the file being read
+     * or when it is shorter than current read position.
+     * <p/>
+     *
+     * @param logFile Server log file.
+     * @return Value of <code>true</code> when log file was rotated or <code>false</code> otherwise.
+     * @throws IOException when log file attributes could not be read.
+     */
+    private boolean rotated(final Path logFile) throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(logFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException nsfe) {
+            // Old file was moved away and new one was not created yet.
+            return false;
+        }
+        return !fileId(attrs).equals(fileId) || attrs.size() < channel.position();
+    }
+
+    /**
+     * Create file system watcher for directory containing server log file.
+     * <p/>
+     *
+     * @param logFile Server log file.
+     * @return File system watcher or <code>null</code> when it is not available.
+     */
+    private static WatchService initWatcher(final Path logFile) {
+        final String METHOD = "initWatcher";
+        Path dir = logFile.getParent();
+        if (dir == null) {
+            return null;
+        }
+        WatchService watcher = null;
+        try {
+            watcher = dir.getFileSystem().newWatchService();
+            dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            return watcher;
+        } catch (IOException | UnsupportedOperationException ex) {
+            LOGGER.log(Level.FINE, METHOD, "unavailable", ex.getMessage());
+            if (watcher != null) {
                 try {
-                    log.close();
-                } catch (IOException ioec) {
-                    LOGGER.log(Level.INFO, METHOD, "cantClose", ioec);
+                    watcher.close();
+                } catch (IOException ioe) {
+                    LOGGER.log(Level.INFO, METHOD, "cantClose", ioe);
                 }
-                throw new FetchLogException(
-                        LOGGER.excMsg(METHOD, "cantInit"), ioe);
             }
+            return null;
+        }
+    }
+
+    /**
+     * Read all data available in log file and send them into pipe.
+     * <p/>
+     *
+     * @param buff Read buffer.
+     * @return Number of bytes read.
+     * @throws IOException when log file could not be read or pipe could not be written.
+     */
+    private long readAvailable(final ByteBuffer buff) throws IOException {
+        final String METHOD = "readAvailable";
+        long total = 0;
+        int count;
+        while (taksExecute && (count = channel.read(buff)) > 0) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, METHOD, "read", count);
+            }
+            out.write(buff.array(), buff.arrayOffset(), count);
+            buff.clear();
+            total += count;
+        }
+        if (total > 0) {
+            out.flush();
+        }
+        return total;
+    }
+
+    /**
+     * Wait for change of log file.
+     * <p/>
+     * Waits for file system change notification when watcher is available or sleeps for provided
+     * polling delay otherwise.
+     * <p/>
+     *
+     * @param watcher File system watcher or <code>null</code> when it is not available.
+     * @param pollDelay Polling delay when watcher is not available [ms].
+     * @return File system watcher to be used for next wait.
+     * @throws InterruptedException when waiting thread was interrupted.
+     */
+    private static WatchService await(final WatchService watcher, final long pollDelay)
+            throws InterruptedException {
+        if (watcher == null) {
+            Thread.sleep(pollDelay);
+            return null;
+        }
+        try {
+            WatchKey key = watcher.poll(WATCH_TIMEOUT, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                // Any change in log directory triggers log file check.
+                key.pollEvents();
+                key.reset();
+            }
+            return watcher;
+        } catch (ClosedWatchServiceException cwse) {
+            return null;
         }
-        return log;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -133,82 +301,74 @@ public class FetchLogLocal extends FetchLogPiped {
     ////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Remote server log lines reading task.
+     * Local server log lines reading task.
      * <p/>
-     * Reads new log lines from server using GlassFish remote administration API and sends them into
-     * pipe (<code>PipedInputStream</code>).
+     * Reads new log lines from local server log file and sends them into pipe
+     * (<code>PipedInputStream</code>).
      * <p/>
      *
-     * @return <code>TaskState.COMPLETED</code> when remote administration API stopped responding or
-     * <code>TaskState.FAILED</code> when exception was caught.
+     * @return <code>TaskState.COMPLETED</code> when task was stopped or <code>TaskState.FAILED</code>
+     * when exception was caught.
      */
-    @SuppressWarnings("SleepWhileInLoop")
     @Override
     public TaskState call() {
         final String METHOD = "call";
         notifyListeners(TaskState.RUNNING);
-        InputStream fIn = initInputFile();
-        byte[] buff = new byte[PIPE_BUFFER_SIZE];
         File logFile = ServerUtils.getServerLogFile(server);
-        int inCount;
-        long lastModified;
-        if (fIn == null) {
-            return notifyListeners(TaskState.FAILED);
-        }
-        while (taksExecute) {
-            try {
-                inCount = fIn.available();
-                lastModified = logFile.lastModified();
-                // Nothing to read. Check log rotation after delay.
-                if (inCount <= 0) {
-                    Thread.sleep(LOG_REFRESH_DELAY);
-                    inCount = fIn.available();
-                    if (inCount <= 0 && logFile.lastModified() > lastModified) {
-                        LOGGER.log(Level.FINER, METHOD, "rotation");
-                        fIn.close();
-                        out.flush();
-
-                        fIn = initInputFile();
-                    }
+        Path logPath = logFile.toPath();
+        ByteBuffer buff = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        WatchService watcher = null;
+        long pollDelay = POLL_DELAY_MIN;
+        try {
+            if (!initInputFile(logPath, skip)) {
+                return notifyListeners(TaskState.FAILED);
+            }
+            watcher = initWatcher(logPath);
+            while (taksExecute) {
+                if (readAvailable(buff) > 0) {
+                    pollDelay = POLL_DELAY_MIN;
+                    continue;
                 }
-                if (inCount > 0) {
-                    while (inCount > 0) {
-                        int count = fIn.read(buff);
-                        LOGGER.log(Level.FINEST, METHOD, "read",
-                                new Object[] { new Integer(count) });
-                        if (count > 0) {
-                            out.write(buff, 0, count);
-                            inCount -= count;
-                        } else {
-                            // Return -1: If log file is rotated, the original file handle is no longer valid
-                            break;
-                        }
-                        if (inCount <= 0) {
-                            inCount = fIn.available();
-                        }
+                if (rotated(logPath)) {
+                    LOGGER.log(Level.FINER, METHOD, "rotation");
+                    closeInputFile();
+                    if (!initInputFile(logPath, false)) {
+                        return notifyListeners(TaskState.FAILED);
                     }
-                    out.flush();
+                    continue;
                 }
-            } catch (InterruptedException ie) {
-                LOGGER.log(Level.INFO, METHOD, "interrupted", ie.getMessage());
-                Thread.currentThread().interrupt();
-                return notifyListeners(TaskState.COMPLETED);
-            } catch (InterruptedIOException ie) {
+                watcher = await(watcher, pollDelay);
+                pollDelay = Math.min(pollDelay * 2, LOG_REFRESH_DELAY);
+            }
+        } catch (InterruptedException ie) {
+            LOGGER.log(Level.INFO, METHOD, "interrupted", ie.getMessage());
+            Thread.currentThread().interrupt();
+            return notifyListeners(TaskState.COMPLETED);
+        } catch (InterruptedIOException | ClosedByInterruptException ie) {
+            LOGGER.log(Level.INFO, METHOD,
+                    "interruptedIO", ie.getMessage());
+            Thread.currentThread().interrupt();
+            return notifyListeners(TaskState.COMPLETED);
+        } catch (IOException ioe) {
+            if (taksExecute) {
+                LOGGER.log(Level.INFO, METHOD, "ioException", ioe);
+                return notifyListeners(TaskState.FAILED);
+            } else {
                 LOGGER.log(Level.INFO, METHOD,
-                        "interruptedIO", ie.getMessage());
-                Thread.currentThread().interrupt();
+                        "ioExceptionMsg", ioe.getMessage());
                 return notifyListeners(TaskState.COMPLETED);
-            } catch (IOException ioe) {
-                if (taksExecute) {
-                    LOGGER.log(Level.INFO, METHOD, "ioException", ioe);
-                    return notifyListeners(TaskState.FAILED);
-                } else {
-                    LOGGER.log(Level.INFO, METHOD,
-                            "ioExceptionMsg", ioe.getMessage());
-                    return notifyListeners(TaskState.COMPLETED);
+            }
+        } finally {
+            closeInputFile();
+            if (watcher != null) {
+                try {
+                    watcher.close();
+                } catch (IOException ioe) {
+                    LOGGER.log(Level.INFO, METHOD, "cantClose", ioe);
                 }
             }
-
+            // Reader would wait for more data forever otherwise.
+            closeOutput();
         }
         return notifyListeners(TaskState.COMPLETED);
     }
@@ -20,8 +20,7 @@ package org.eclipse.payara.tools.sdk.server;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.OutputStream;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -35,6 +34,7 @@ import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.TaskState;
 import org.eclipse.payara.tools.sdk.logging.Logger;
+import org.eclipse.payara.tools.sdk.utils.ByteRingBuffer;
 import org.eclipse.payara.tools.sdk.utils.LinkedList;
 import org.eclipse.payara.tools.sdk.utils.NetUtils;
 import org.eclipse.payara.tools.server.PayaraServer;
@@ -42,7 +42,9 @@ import org.eclipse.payara.tools.server.PayaraServer;
 /**
  * Fetch GlassFish log from local or remote server.
  * <p/>
- * Data are fetched in service thread and passed into <code>PipedOutputStream</code>.
+ * Data are fetched in service thread and passed through bounded {@link ByteRingBuffer}. Buffer
+ * capacity and overflow policy of new log fetchers may be changed using
+ * {@link #setBufferCapacity(int)} and {@link #setOverflow(ByteRingBuffer.Overflow)}.
  * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
@@ -57,8 +59,14 @@ public abstract class FetchLogPiped
     /** Logger instance for this class. */
     private static final Logger LOGGER = new Logger(FetchLogPiped.class);
 
-    /** Size of internal buffer in pipe input stream. */
-    static final int PIPE_BUFFER_SIZE = 8192;
+    /** Default log buffer capacity in bytes. */
+    public static final int DEFAULT_BUFFER_CAPACITY = 256 * 1024;
+
+    /** Log buffer capacity of new log fetchers. */
+    private static volatile int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
+
+    /** Log buffer overflow policy of new log fetchers. */
+    private static volatile ByteRingBuffer.Overflow overflow = ByteRingBuffer.Overflow.BLOCK;
 
     /** Log refresh delay in miliseconds. */
     static final int LOG_REFRESH_DELAY = 1000;
@@ -67,6 +75,32 @@ public abstract class FetchLogPiped
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Set log buffer capacity of new log fetchers.
+     * <p/>
+     *
+     * @param capacity Log buffer capacity in bytes.
+     */
+    public static void setBufferCapacity(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity shall be at least 1.");
+        }
+        bufferCapacity = capacity;
+    }
+
+    /**
+     * Set log buffer overflow policy of new log fetchers.
+     * <p/>
+     *
+     * @param policy Policy applied when log reader does not keep up with log fetcher.
+     */
+    public static void setOverflow(final ByteRingBuffer.Overflow policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy shall not be null.");
+        }
+        overflow = policy;
+    }
+
     /**
      * Constructs an instance of GlassFish server log fetcher depending on server being remote or local.
      * <p/>
@@ -148,8 +182,11 @@ public abstract class FetchLogPiped
     // Instance attributes //
     ////////////////////////////////////////////////////////////////////////////
 
-    /** Output stream where to write retrieved remote server log. */
-    final PipedOutputStream out;
+    /** Buffer passing retrieved server log to reader. */
+    private final ByteRingBuffer buffer;
+
+    /** Output stream where to write retrieved server log. */
+    final OutputStream out;
 
     /** Running task that reads log lines from remote server. */
     Future<TaskState> task;
@@ -174,9 +211,8 @@ public abstract class FetchLogPiped
      * Constructs an instance of GlassFish remote server log fetcher.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> as reading side of <code>ByteRingBuffer</code> before this constructor
+     * code is being executed. Here we can simply take writing side of the same buffer.
      * <p/>
      *
      * @param server GlassFish server for fetching server log.
@@ -184,14 +220,9 @@ public abstract class FetchLogPiped
      */
     FetchLogPiped(final PayaraServer server, boolean skip) {
         super(server, skip);
-        final String METHOD = "init";
         this.eventListeners = new LinkedList();
-        try {
-            out = new PipedOutputStream((PipedInputStream) this.in);
-        } catch (IOException ioe) {
-            super.close();
-            throw new FetchLogException(LOGGER.excMsg(METHOD, "cantInit"), ioe);
-        }
+        buffer = ((ByteRingBuffer.RingInputStream) this.in).getBuffer();
+        out = buffer.getOutputStream();
         taksExecute = true;
         // Create internal executor to run log reader task.
         executor = new ThreadPoolExecutor(0, 1, 0L, TimeUnit.MILLISECONDS,
@@ -209,9 +240,8 @@ public abstract class FetchLogPiped
      * {@link ExecutorService}.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> as reading side of <code>ByteRingBuffer</code> before this constructor
+     * code is being executed. Here we can simply take writing side of the same buffer.
      * <p/>
      *
      * @param executor Executor service used to start task.
@@ -222,14 +252,9 @@ public abstract class FetchLogPiped
     FetchLogPiped(final ExecutorService executor, final PayaraServer server,
             boolean skip) {
         super(server, skip);
-        final String METHOD = "init";
         this.eventListeners = new LinkedList();
-        try {
-            out = new PipedOutputStream((PipedInputStream) this.in);
-        } catch (IOException ioe) {
-            super.close();
-            throw new FetchLogException(LOGGER.excMsg(METHOD, "cantInit"), ioe);
-        }
+        buffer = ((ByteRingBuffer.RingInputStream) this.in).getBuffer();
+        out = buffer.getOutputStream();
         taksExecute = true;
         // Use external executor to run log reader task.
         this.executor = executor;
@@ -241,20 +266,19 @@ public abstract class FetchLogPiped
     ////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Constructor callback which initializes log <code>InputStream</code> as
-     * <code>PipedInputStream</code> sending data from remote server log reader.
+     * Constructor callback which initializes log <code>InputStream</code> as reading side of
+     * <code>ByteRingBuffer</code> receiving data from server log reader.
      * <p/>
      * This initialization is called form <code>FetchLog</code> super class constructor. It already
-     * exists when <code>FetchLogRemote</code> constructor is running so it may be used as argument for
-     * local <code>PipedOutputStream</code> initialization.
+     * exists when <code>FetchLogPiped</code> constructor is running so its buffer may be used for
+     * local <code>OutputStream</code> initialization.
      * <p/>
      *
-     * @return <code>PipedInputStream</code> where log lines received from server will be available to
-     * read.
+     * @return <code>InputStream</code> where log lines received from server will be available to read.
      */
     @Override
     InputStream initInputStream() {
-        return new PipedInputStream(PIPE_BUFFER_SIZE);
+        return new ByteRingBuffer(bufferCapacity, overflow).getInputStream();
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -346,14 +370,12 @@ public abstract class FetchLogPiped
     }
 
     /**
-     * Stop running task if it's still running.
+     * Close writing side of log buffer so reader receives end of stream after remaining data.
      * <p/>
-     *
-     * @return Task execution result.
+     * Called by log lines reading task when it finishes and by {@link #stop()}.
      */
-    private TaskState stop() {
-        final String METHOD = "stop";
-        taksExecute = false;
+    final void closeOutput() {
+        final String METHOD = "closeOutput";
         if (this.out != null) {
             try {
                 this.out.close();
@@ -363,6 +385,18 @@ public abstract class FetchLogPiped
         } else {
             LOGGER.log(Level.INFO, METHOD, "isNull");
         }
+    }
+
+    /**
+     * Stop running task if it's still running.
+     * <p/>
+     *
+     * @return Task execution result.
+     */
+    private TaskState stop() {
+        final String METHOD = "stop";
+        taksExecute = false;
+        closeOutput();
         TaskState result;
         try {
             result = task.get();
@@ -399,6 +433,26 @@ public abstract class FetchLogPiped
         }
     }
 
+    /**
+     * Get number of log bytes waiting to be read.
+     * <p/>
+     *
+     * @return Number of log bytes waiting to be read.
+     */
+    public long getBufferedBytes() {
+        return buffer.getBuffered();
+    }
+
+    /**
+     * Get number of log bytes discarded because reader did not keep up with log fetcher.
+     * <p/>
+     *
+     * @return Number of discarded log bytes.
+     */
+    public long getDroppedBytes() {
+        return buffer.getDropped();
+    }
+
     /**
      * Check if log lines reading task is running.
      * <p/>
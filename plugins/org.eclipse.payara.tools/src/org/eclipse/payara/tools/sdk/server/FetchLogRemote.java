@@ -19,23 +19,27 @@
 package org.eclipse.payara.tools.sdk.server;
 
 import java.io.IOException;
-import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.TaskState;
 import org.eclipse.payara.tools.sdk.admin.CommandFetchLogData;
 import org.eclipse.payara.tools.sdk.admin.ResultLog;
 import org.eclipse.payara.tools.sdk.admin.ServerAdmin;
+import org.eclipse.payara.tools.sdk.admin.ValueLog;
 import org.eclipse.payara.tools.sdk.logging.Logger;
-import org.eclipse.payara.tools.sdk.utils.OsUtils;
 import org.eclipse.payara.tools.server.PayaraServer;
 
 /**
  * Fetch GlassFish log from remote server.
  * <p/>
+ * Log data received from server are streamed directly into log buffer. Server is polled for new
+ * log entries with delay growing while log is idle and reset to minimum when new entries arrive.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -46,7 +50,33 @@ public class FetchLogRemote extends FetchLogPiped {
     ////////////////////////////////////////////////////////////////////////////
 
     /** Logger instance for this class. */
-    private static final Logger LOGGER = new Logger(FetchLogPiped.class);
+    private static final Logger LOGGER = new Logger(FetchLogRemote.class);
+
+    /** Minimal delay between remote log polls [ms]. */
+    static final int POLL_DELAY_MIN = 250;
+
+    /** Maximal delay between remote log polls when log is idle [ms]. */
+    static final int POLL_DELAY_MAX = 8000;
+
+    /**
+     * Maximum number of log bytes kept from single poll. Log data are buffered by administration
+     * command runner and written into log buffer by this task, so command execution thread is never
+     * blocked by slow log reader.
+     */
+    static final int FETCH_LIMIT = 4 * 1024 * 1024;
+
+    /** Line written into log buffer in place of log data discarded because of fetch limit. */
+    private static final String DROPPED_MARKER = "[... %d bytes of server log skipped ...]%n";
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Number of log bytes received from server. */
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    /** Number of log lines received from server. */
+    private final AtomicLong linesRead = new AtomicLong();
 
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
@@ -56,9 +86,8 @@ public class FetchLogRemote extends FetchLogPiped {
      * Constructs an instance of GlassFish remote server log fetcher.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> as reading side of <code>ByteRingBuffer</code> before this constructor
+     * code is being executed.
      * <p/>
      *
      * @param server GlassFish server for fetching server log.
@@ -73,9 +102,8 @@ public class FetchLogRemote extends FetchLogPiped {
      * {@link ExecutorService}.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> as reading side of <code>ByteRingBuffer</code> before this constructor
+     * code is being executed.
      * <p/>
      *
      * @param executor Executor service used to start task.
@@ -87,6 +115,104 @@ public class FetchLogRemote extends FetchLogPiped {
         super(executor, server, skip);
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Getters //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get number of log bytes received from server.
+     * <p/>
+     *
+     * @return Number of log bytes received from server.
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * Get number of log lines received from server.
+     * <p/>
+     *
+     * @return Number of log lines received from server.
+     */
+    public long getLinesRead() {
+        return linesRead.get();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetch log entries from server as raw data.
+     * <p/>
+     *
+     * @param paramsAppendNext Interval query parameters from last fetch or <code>null</code> to fetch
+     * whole log.
+     * @param limit Maximum number of log bytes kept in result.
+     * @return Log fetching command result.
+     * @throws InterruptedException when waiting for result was interrupted.
+     * @throws ExecutionException when log fetching command failed.
+     */
+    private ResultLog fetch(final String paramsAppendNext, final int limit)
+            throws InterruptedException, ExecutionException {
+        return ServerAdmin.<ResultLog>exec(server,
+                new CommandFetchLogData(paramsAppendNext, limit)).get();
+    }
+
+    /**
+     * Write fetched log data into log buffer.
+     * <p/>
+     * Blocks according to log buffer overflow policy when reader does not keep up. Log data discarded
+     * because of fetch limit are replaced by marker line.
+     * <p/>
+     *
+     * @param value Fetched log data.
+     * @throws IOException when log buffer was closed.
+     */
+    private void write(final ValueLog value) throws IOException {
+        final String METHOD = "write";
+        if (value.getDropped() > 0) {
+            LOGGER.log(Level.INFO, METHOD, "dropped", value.getDropped());
+            out.write(String.format(DROPPED_MARKER, value.getDropped())
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+        value.writeTo(out);
+    }
+
+    /**
+     * Update throughput counters with received log data statistics.
+     * <p/>
+     *
+     * @param value Received log data.
+     * @return Number of received log bytes.
+     */
+    private long count(final ValueLog value) {
+        final String METHOD = "count";
+        long bytes = value.getBytes();
+        if (bytes > 0) {
+            bytesRead.addAndGet(bytes);
+            linesRead.addAndGet(value.getLineCount());
+            LOGGER.log(Level.FINEST, METHOD, "read", bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Wait for next poll while log lines reading task should continue.
+     * <p/>
+     *
+     * @param delay Delay before next poll [ms].
+     * @throws InterruptedException when waiting was interrupted.
+     */
+    private void await(final long delay) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        long left;
+        while (taksExecute && (left = end - System.nanoTime()) > 0) {
+            Thread.sleep(Math.min(POLL_DELAY_MIN, TimeUnit.NANOSECONDS.toMillis(left) + 1));
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Runnable call() Method //
     ////////////////////////////////////////////////////////////////////////////
@@ -94,63 +220,46 @@ public class FetchLogRemote extends FetchLogPiped {
     /**
      * Remote server log lines reading task.
      * <p/>
-     * Reads new log lines from server using GlassFish remote administration API and sends them into
-     * pipe (<code>PipedInputStream</code>).
+     * Reads new log lines from server using GlassFish remote administration API and writes them into
+     * log buffer from this task's thread.
      * <p/>
      *
      * @return <code>TaskState.COMPLETED</code> when remote administration API stopped responding or
      * <code>TaskState.FAILED</code> when exception was caught.
      */
-    @SuppressWarnings("SleepWhileInLoop")
     @Override
     public TaskState call() {
         final String METHOD = "call";
         notifyListeners(TaskState.RUNNING);
         String paramsAppendNext = null;
-        Future<ResultLog> future = ServerAdmin.<ResultLog>exec(server,
-                new CommandFetchLogData());
+        long delay = POLL_DELAY_MIN;
         try {
-            ResultLog result = future.get();
-            if (!skip && result.getState() == TaskState.COMPLETED) {
+            // Skipped startup content is not kept at all.
+            ResultLog result = fetch(null, skip ? 0 : FETCH_LIMIT);
+            if (result.getState() == TaskState.COMPLETED) {
                 paramsAppendNext = result.getValue().getParamsAppendNext();
-                for (String line : result.getValue().getLines()) {
-                    out.write(line.getBytes());
-                    out.write(OsUtils.LINES_SEPARATOR.getBytes());
+                if (!skip) {
+                    write(result.getValue());
+                    count(result.getValue());
                 }
-                out.flush();
             }
-            byte[] lineSeparatorOut = OsUtils.LINES_SEPARATOR.getBytes();
             while (taksExecute && result.getState() == TaskState.COMPLETED) {
-                future = ServerAdmin.<ResultLog>exec(server,
-                        new CommandFetchLogData(
-                                paramsAppendNext));
-                result = future.get();
+                result = fetch(paramsAppendNext, FETCH_LIMIT);
                 if (result.getState() == TaskState.COMPLETED) {
+                    write(result.getValue());
                     paramsAppendNext = result.getValue().getParamsAppendNext();
-                    for (String line : result.getValue().getLines()) {
-                        byte[] lineOut = line.getBytes();
-                        LOGGER.log(Level.FINEST, METHOD, "read", new Object[] {
-                                new Integer(lineOut.length
-                                        + lineSeparatorOut.length) });
-                        out.write(lineOut);
-                        out.write(lineSeparatorOut);
-                    }
-                    out.flush();
+                    delay = count(result.getValue()) > 0
+                            ? POLL_DELAY_MIN
+                            : Math.min(delay * 2, POLL_DELAY_MAX);
                 }
-                Thread.sleep(LOG_REFRESH_DELAY);
+                await(delay);
             }
         } catch (InterruptedException ie) {
             LOGGER.log(Level.INFO, METHOD, "interrupted", ie.getMessage());
             Thread.currentThread().interrupt();
             return notifyListeners(TaskState.COMPLETED);
-        } catch (ExecutionException ee) {
-            LOGGER.log(Level.INFO, METHOD, "exception", ee);
-            return notifyListeners(TaskState.FAILED);
-        } catch (InterruptedIOException ie) {
-            LOGGER.log(Level.INFO, METHOD, "interruptedIO", ie.getMessage());
-            Thread.currentThread().interrupt();
-            return notifyListeners(TaskState.COMPLETED);
         } catch (IOException ioe) {
+            // Log buffer is closed when task is being stopped.
             if (taksExecute) {
                 LOGGER.log(Level.INFO, METHOD, "ioException", ioe);
                 return notifyListeners(TaskState.FAILED);
@@ -159,6 +268,18 @@ public class FetchLogRemote extends FetchLogPiped {
                         "ioExceptionMsg", ioe.getMessage());
                 return notifyListeners(TaskState.COMPLETED);
             }
+        } catch (ExecutionException ee) {
+            if (taksExecute) {
+                LOGGER.log(Level.INFO, METHOD, "exception", ee);
+                return notifyListeners(TaskState.FAILED);
+            } else {
+                LOGGER.log(Level.INFO, METHOD,
+                        "exceptionMsg", ee.getMessage());
+                return notifyListeners(TaskState.COMPLETED);
+            }
+        } finally {
+            // Reader would wait for more data forever otherwise.
+            closeOutput();
         }
         return notifyListeners(TaskState.COMPLETED);
     }
@@ -27,8 +27,12 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -49,7 +53,8 @@ import org.eclipse.sapphire.Version;
  * Check server status using administration commands <code>__locations</code> and
  * <code>version</code> and also verify if server is at least listening on its administration port.
  * <p/>
- * Administration commands and port check are run in parallel to reduce delay.
+ * Administration commands and port check are run in parallel to reduce delay. Administration commands
+ * of all status checks are executed by one shared executor with limited number of threads.
  * <p/>
  *
  * @author Tomas Kraus
@@ -888,7 +893,7 @@ public class ServerStatus implements Closeable {
          * Attempt to cancel execution of this task.
          */
         void cancel() {
-            if (!future.isDone()) {
+            if (future != null && !future.isDone()) {
                 future.cancel(true);
             }
         }
@@ -1031,7 +1036,7 @@ public class ServerStatus implements Closeable {
          * Attempt to cancel execution of this task.
          */
         void cancel() {
-            if (!future.isDone()) {
+            if (future != null && !future.isDone()) {
                 future.cancel(true);
             }
         }
@@ -1044,8 +1049,29 @@ public class ServerStatus implements Closeable {
     /** Logger instance for this class. */
     private static final Logger LOGGER = new Logger(ServerStatus.class);
 
-    /** Executor thread pool size (amount of threads to run in parallel). */
-    private static final int EXECUTOR_POOL_SIZE = 2;
+    /** Shared executor maximal thread pool size (amount of threads to run in parallel). */
+    private static final int EXECUTOR_POOL_SIZE = 4;
+
+    /** Time idle shared executor threads are kept alive [s]. */
+    private static final long EXECUTOR_KEEP_ALIVE = 60;
+
+    /** Shared executor threads name prefix. */
+    private static final String THREAD_NAME = "GlassFish Server Status ";
+
+    /** Number of threads created by shared executor. */
+    private static final AtomicInteger threadsCreated = new AtomicInteger();
+
+    /** Number of finished status checks. */
+    private static final AtomicLong checks = new AtomicLong();
+
+    /** Total time spent in finished status checks [ns]. */
+    private static final AtomicLong checksTime = new AtomicLong();
+
+    /** Executor used to run asynchronous server status checks of all servers. */
+    private static final ExecutorService executor = newExecutor();
+
+    /** Version number pattern in <code>version</code> command response. */
+    private static final Pattern VERSION_PATTERN = Pattern.compile("[0-9]+(\\.[0-9]+){1,3}");
 
     /** Administration port connect timeout [ms]. */
     private static final int CONNECT_TIMEOUT = 15000;
@@ -1063,9 +1089,6 @@ public class ServerStatus implements Closeable {
     // Instance attributes //
     ////////////////////////////////////////////////////////////////////////////
 
-    /** Executor used to run asynchronous server status checks in parallel. */
-    private final ExecutorService executor;
-
     /**
      * Server status check task to verify if server administration port is alive.
      */
@@ -1086,6 +1109,63 @@ public class ServerStatus implements Closeable {
      * means that start time was not set.
      */
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Create shared executor for asynchronous server status checks.
+     * <p/>
+     * Threads are created on demand up to pool size and terminated after being idle for a while.
+     * <p/>
+     *
+     * @return Shared executor for asynchronous server status checks.
+     */
+    private static ExecutorService newExecutor() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                EXECUTOR_POOL_SIZE, EXECUTOR_POOL_SIZE,
+                EXECUTOR_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), r -> {
+                    Thread t = new Thread(r, THREAD_NAME + threadsCreated.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Get number of threads created by shared status check executor.
+     * <p/>
+     *
+     * @return Number of threads created by shared status check executor.
+     */
+    public static int getThreadsCreated() {
+        return threadsCreated.get();
+    }
+
+    /**
+     * Get number of finished status checks.
+     * <p/>
+     *
+     * @return Number of finished status checks.
+     */
+    public static long getChecks() {
+        return checks.get();
+    }
+
+    /**
+     * Get average duration of finished status checks.
+     * <p/>
+     *
+     * @return Average duration of finished status checks [ms] or <code>0</code> when no check was
+     * finished yet.
+     */
+    public static long getAverageCheckTime() {
+        long count = checks.get();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(checksTime.get() / count) : 0;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -1093,7 +1173,7 @@ public class ServerStatus implements Closeable {
     /**
      * Creates an instance of server status check.
      * <p/>
-     * Method {@link #close()} must be called at the end to release system resources.
+     * Method {@link #close()} shall be called at the end to cancel unfinished checks.
      * <p/>
      *
      * @param server GlassFish server to be checked.
@@ -1101,7 +1181,6 @@ public class ServerStatus implements Closeable {
      * when <code>true</code>.
      */
     public ServerStatus(final PayaraServer server, final boolean startup) {
-        this.executor = ServerAdmin.executor(EXECUTOR_POOL_SIZE);
         this.adminPortTask = new AdminPortTask(server, CONNECT_TIMEOUT);
         this.versionTask = new VersionTask(server, startup);
         this.locationsTask = new LocationsTask(server, startup);
@@ -1153,8 +1232,7 @@ public class ServerStatus implements Closeable {
                         ? versionTask.result.result.getValue()
                         : null;
         if (versionStr != null) {
-            Pattern p = Pattern.compile("[0-9]+(\\.[0-9]+){1,3}");
-            Matcher m = p.matcher(versionStr);
+            Matcher m = VERSION_PATTERN.matcher(versionStr);
             if (m.find()) {
                 String versionToken = versionStr.substring(m.start(), m.end());
                 return new Version(versionToken);
@@ -1174,6 +1252,7 @@ public class ServerStatus implements Closeable {
      * been available, remaining command tasks are canceled.
      */
     public void check() {
+        long start = System.nanoTime();
         versionTask.start(executor);
         locationsTask.start(executor);
         Result result = adminPortTask.check();
@@ -1183,17 +1262,20 @@ public class ServerStatus implements Closeable {
         }
         versionTask.join();
         locationsTask.join();
+        checksTime.addAndGet(System.nanoTime() - start);
+        checks.incrementAndGet();
     }
 
     /**
      * Clean up all resources.
      * <p/>
-     * Removes internal thread pool.
+     * Cancels unfinished administration command tasks. Shared thread pool is not affected.
      *
      */
     @Override
     public void close() {
-        executor.shutdownNow();
+        versionTask.cancel();
+        locationsTask.cancel();
     }
 
 }
@@ -149,7 +149,10 @@ public class ServerTasks {
             throw new PayaraIdeException(LOGGER.excMsg(METHOD, "readXMLerror"), domainXmlPath);
         }
 
+        long javaVersionStart = System.nanoTime();
         JDK.Version jdkVersion = getJavaVersion(args);
+        LOGGER.log(Level.FINE, METHOD, "javaVersion", new Object[] {
+                args.getJavaHome(), jdkVersion, (System.nanoTime() - javaVersionStart) / 1000000 });
         JDK.Version targetJDKVersion = jdkVersion != null ? jdkVersion : JDK_VERSION;
 
         // Filter out all options that are not applicable 
@@ -240,7 +243,12 @@ public class ServerTasks {
             return JDK_VERSION;
         }
 
-        String[] versions = JavaUtils.getJavaVersionString(args.getJavaHome()).split(":");
+        String versionString = JavaUtils.getJavaVersionString(args.getJavaHome());
+        if (versionString == null) {
+            return null;
+        }
+
+        String[] versions = versionString.split(":");
         JDK.Version targetJDKVersion = null;
 
         if (versions.length > 0) {
@@ -84,7 +84,8 @@ public class ConfigBuilder {
                         buildUrls(javadocs, javadocUrls),
                         libConfig.javadocs.getLookups(),
                         buildUrls(sources),
-                        ConfigUtils.processClassPath(classpath)));
+                        ConfigUtils.processClassPath(classpath,
+                                classpathHome.getAbsolutePath())));
             }
         } catch (FileNotFoundException e) {
             throw new PayaraIdeException(
@@ -32,6 +32,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -57,6 +58,9 @@ public class ConfigUtils {
     /** Maven Version property name. */
     private static final String MVN_PROP_VERSION = "version";
 
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(ConfigUtils.class);
+
     /** */
     private static final Pattern MVN_PROPS_PATTERN = Pattern.compile("META-INF/maven/[^/]+/[^/]+/pom.properties");
 
@@ -149,51 +153,82 @@ public class ConfigUtils {
     /**
      * Search class path for Maven information.
      * <p/>
+     * Maven information is taken from persistent {@link JarIndex} of given installation root, so only
+     * JAR files which were not indexed yet or which were changed are opened.
+     * <p/>
      *
      * @param classpath List of class path JAR files.
+     * @param rootDir Installation root the class path belongs to.
      * @return List of Maven information
      */
-    static List<GlassFishLibrary.Maven> processClassPath(List<File> classpath) {
+    static List<GlassFishLibrary.Maven> processClassPath(List<File> classpath, String rootDir) {
+        final String METHOD = "processClassPath";
+        long start = System.nanoTime();
+        JarIndex index = JarIndex.get(rootDir);
         List<GlassFishLibrary.Maven> mvnList = new LinkedList<>();
+        boolean[] hit = new boolean[1];
+        int misses = 0;
         for (File jar : classpath) {
-            ZipFile zip = null;
-            try {
-                zip = new ZipFile(jar);
-                Enumeration<? extends ZipEntry> entries = zip.entries();
-                while (entries.hasMoreElements()) {
-                    ZipEntry entry = entries.nextElement();
-                    Matcher matcher = MVN_PROPS_PATTERN.matcher(entry.getName());
-                    if (matcher.matches()) {
-                        GlassFishLibrary.Maven mvnInfo = getMvnInfoFromProperties(zip.getInputStream(
-                                entry));
-                        if (mvnInfo != null) {
-                            mvnList.add(mvnInfo);
-                            break;
-                        }
+            String[] coordinates = index.lookup(jar, hit);
+            if (!hit[0]) {
+                misses++;
+            }
+            if (coordinates != null) {
+                mvnList.add(new GlassFishLibrary.Maven(coordinates[0], coordinates[1], coordinates[2]));
+            }
+        }
+        index.save();
+        final int jars = classpath.size();
+        final int read = misses;
+        LOGGER.log(Level.FINE, METHOD, "resolved", () -> new Object[] {
+                jars, read, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) });
+        return mvnList;
+    }
+
+    /**
+     * Read Maven information from <code>pom.properties</code> stored in JAR file.
+     * <p/>
+     *
+     * @param jar JAR file.
+     * @return Maven group ID, artifact ID and version or <code>null</code> when JAR file does not
+     * contain Maven information.
+     */
+    static String[] readMvnCoordinates(File jar) {
+        ZipFile zip = null;
+        try {
+            zip = new ZipFile(jar);
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                Matcher matcher = MVN_PROPS_PATTERN.matcher(entry.getName());
+                if (matcher.matches()) {
+                    String[] mvnInfo = getMvnInfoFromProperties(zip.getInputStream(
+                            entry));
+                    if (mvnInfo != null) {
+                        return mvnInfo;
                     }
                 }
-            } catch (ZipException ze) {
-                Logger.log(Level.WARNING, "Cannot open JAR file "
-                        + jar.getAbsolutePath() + ":", ze);
-            } catch (IOException ioe) {
-                Logger.log(Level.WARNING, "Cannot process JAR file "
-                        + jar.getAbsolutePath() + ":", ioe);
-            } catch (IllegalStateException ise) {
-                Logger.log(Level.WARNING, "Cannot process JAR file "
-                        + jar.getAbsolutePath() + ":", ise);
-            } finally {
-                if (zip != null) {
-                    try {
-                        zip.close();
-                    } catch (IOException ioe) {
-                        Logger.log(Level.WARNING, "Cannot close JAR file "
-                                + jar.getAbsolutePath() + ":", ioe);
-                    }
+            }
+        } catch (ZipException ze) {
+            Logger.log(Level.WARNING, "Cannot open JAR file "
+                    + jar.getAbsolutePath() + ":", ze);
+        } catch (IOException ioe) {
+            Logger.log(Level.WARNING, "Cannot process JAR file "
+                    + jar.getAbsolutePath() + ":", ioe);
+        } catch (IllegalStateException ise) {
+            Logger.log(Level.WARNING, "Cannot process JAR file "
+                    + jar.getAbsolutePath() + ":", ise);
+        } finally {
+            if (zip != null) {
+                try {
+                    zip.close();
+                } catch (IOException ioe) {
+                    Logger.log(Level.WARNING, "Cannot close JAR file "
+                            + jar.getAbsolutePath() + ":", ioe);
                 }
             }
-
         }
-        return mvnList;
+        return null;
     }
 
     /**
@@ -201,8 +236,9 @@ public class ConfigUtils {
      * <p/>
      *
      * @param propStream Input stream to read <code>pom.properties</code> file from JAR.
+     * @return Maven group ID, artifact ID and version or <code>null</code> when any of them is missing.
      */
-    private static GlassFishLibrary.Maven getMvnInfoFromProperties(
+    private static String[] getMvnInfoFromProperties(
             InputStream propStream) throws IOException {
         Properties props = new Properties();
         props.load(propStream);
@@ -210,7 +246,7 @@ public class ConfigUtils {
         String artifactId = props.getProperty(MVN_PROP_ARTIFACT_ID);
         String version = props.getProperty(MVN_PROP_VERSION);
         if (groupId != null && artifactId != null && version != null) {
-            return new GlassFishLibrary.Maven(groupId, artifactId, version);
+            return new String[] { groupId, artifactId, version };
         } else {
             return null;
         }
@@ -0,0 +1,253 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.server.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.eclipse.payara.tools.sdk.GlassFishToolsConfig;
+import org.eclipse.payara.tools.sdk.logging.Logger;
+
+/**
+ * Persistent index of Maven coordinates of JAR files in GlassFish server installation.
+ * <p/>
+ * Index entries are keyed by JAR path and validated by JAR size and modification time, so only new
+ * or changed JAR files are opened. One index is shared by all servers with the same installation
+ * root. Index is stored in {@link GlassFishToolsConfig#getCacheDirectory()}.
+ * <p/>
+ */
+final class JarIndex {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Index entry of single JAR file.
+     */
+    private static final class Entry {
+
+        /** JAR file size. */
+        private final long size;
+
+        /** JAR file modification time. */
+        private final long modified;
+
+        /** Maven group ID, artifact ID and version or empty array. */
+        private final String[] coordinates;
+
+        /**
+         * Creates an instance of index entry.
+         * <p/>
+         *
+         * @param size JAR file size.
+         * @param modified JAR file modification time.
+         * @param coordinates Maven coordinates or empty array.
+         */
+        private Entry(final long size, final long modified, final String[] coordinates) {
+            this.size = size;
+            this.modified = modified;
+            this.coordinates = coordinates;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(JarIndex.class);
+
+    /** Index file name prefix. */
+    private static final String FILE_PREFIX = "jar-index-";
+
+    /** Index file name suffix. */
+    private static final String FILE_SUFFIX = ".properties";
+
+    /** Key of installation root entry, JAR paths are absolute so they never match it. */
+    private static final String ROOT_KEY = "root";
+
+    /** Index entry fields separator. */
+    private static final char SEPARATOR = ':';
+
+    /** Coordinates stored for JAR files without Maven information. */
+    private static final String[] NO_COORDINATES = new String[0];
+
+    /** Indexes mapped to installation roots. */
+    private static final Map<String, JarIndex> indexes = new ConcurrentHashMap<>();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get index of given installation root. Index is loaded from disk on first access.
+     * <p/>
+     *
+     * @param rootDir Installation root directory.
+     * @return Index of given installation root.
+     */
+    static JarIndex get(final String rootDir) {
+        return indexes.computeIfAbsent(new File(rootDir).getAbsolutePath(), JarIndex::new);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Installation root directory. */
+    private final String rootDir;
+
+    /** Index file. */
+    private final File file;
+
+    /** Size, modification time and Maven coordinates mapped to JAR paths. */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /** Index was changed since it was stored. */
+    private boolean dirty;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of index and loads stored entries.
+     * <p/>
+     *
+     * @param rootDir Installation root directory.
+     */
+    private JarIndex(final String rootDir) {
+        this.rootDir = rootDir;
+        this.file = new File(GlassFishToolsConfig.getCacheDirectory(),
+                FILE_PREFIX + Integer.toHexString(rootDir.hashCode()) + FILE_SUFFIX);
+        load();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get Maven coordinates of given JAR file. JAR file is read only when it is not indexed or it was
+     * changed since it was indexed.
+     * <p/>
+     *
+     * @param jar JAR file.
+     * @param hit Set to <code>true</code> in first element when index entry was used.
+     * @return Maven group ID, artifact ID and version or <code>null</code> when JAR file does not
+     * contain Maven information.
+     */
+    synchronized String[] lookup(final File jar, final boolean[] hit) {
+        String path = jar.getAbsolutePath();
+        long size = jar.length();
+        long modified = jar.lastModified();
+        Entry entry = entries.get(path);
+        hit[0] = entry != null && entry.size == size && entry.modified == modified;
+        if (!hit[0]) {
+            String[] coordinates = ConfigUtils.readMvnCoordinates(jar);
+            entry = new Entry(size, modified, coordinates != null ? coordinates : NO_COORDINATES);
+            entries.put(path, entry);
+            dirty = true;
+        }
+        return entry.coordinates.length > 0 ? entry.coordinates : null;
+    }
+
+    /**
+     * Store index when it was changed. Entries of removed JAR files are dropped.
+     */
+    synchronized void save() {
+        final String METHOD = "save";
+        if (!dirty) {
+            return;
+        }
+        Properties props = new Properties();
+        props.setProperty(ROOT_KEY, rootDir);
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!new File(entry.getKey()).isFile()) {
+                continue;
+            }
+            Entry value = entry.getValue();
+            StringBuilder sb = new StringBuilder()
+                    .append(value.size).append(SEPARATOR).append(value.modified);
+            for (String coordinate : value.coordinates) {
+                sb.append(SEPARATOR).append(coordinate);
+            }
+            props.setProperty(entry.getKey(), sb.toString());
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (OutputStream out = new FileOutputStream(temp)) {
+                props.store(out, null);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException ioe) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] {
+                    file.getAbsolutePath(), ioe.getLocalizedMessage() });
+        }
+    }
+
+    /**
+     * Load stored index entries. Malformed entries are ignored. Index stored for another installation
+     * root with the same file name hash is ignored as a whole and replaced on next save.
+     */
+    private void load() {
+        final String METHOD = "load";
+        if (!file.isFile()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            props.load(in);
+        } catch (IOException ioe) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] {
+                    file.getAbsolutePath(), ioe.getLocalizedMessage() });
+            return;
+        }
+        if (!rootDir.equals(props.getProperty(ROOT_KEY))) {
+            LOGGER.log(Level.FINE, METHOD, "mismatch", new Object[] {
+                    file.getAbsolutePath(), props.getProperty(ROOT_KEY) });
+            return;
+        }
+        for (String path : props.stringPropertyNames()) {
+            if (ROOT_KEY.equals(path)) {
+                continue;
+            }
+            String[] fields = props.getProperty(path).split(String.valueOf(SEPARATOR), -1);
+            if (fields.length != 2 && fields.length != 5) {
+                continue;
+            }
+            try {
+                String[] coordinates = fields.length == 5
+                        ? new String[] { fields[2], fields[3], fields[4] }
+                        : NO_COORDINATES;
+                entries.put(path, new Entry(
+                        Long.parseLong(fields[0]), Long.parseLong(fields[1]), coordinates));
+            } catch (NumberFormatException nfe) {
+                // Ignore malformed entry
+            }
+        }
+    }
+
+}
@@ -29,6 +29,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.logging.Level;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -69,72 +71,152 @@ public final class TreeParser extends DefaultHandler {
      */
     private static final EntityResolver DUMMY_RESOLVER = (string, string1) -> new InputSource(new StringReader(""));
 
-    public static boolean readXml(File xmlFile, XMLReader... pathList)
+    /** Maximum number of idle SAX parsers kept in the pool. */
+    private static final int MAX_POOLED_PARSERS = 4;
+
+    /**
+     * SAX parser factory. Parser namespace awareness is disabled so make sure localpart and qname are
+     * treated correctly in the handler code.
+     */
+    private static final SAXParserFactory FACTORY = SAXParserFactory.newInstance();
+
+    /** Idle SAX parsers. */
+    private static final Queue<SAXParser> PARSERS = new ConcurrentLinkedQueue<>();
+
+    static {
+        FACTORY.setNamespaceAware(false);
+    }
+
+    /**
+     * Take SAX parser from the pool or create new one when the pool is empty.
+     * <p/>
+     *
+     * @return SAX parser instance.
+     * @throws ParserConfigurationException when parser could not be created.
+     * @throws SAXException when parser could not be created.
+     */
+    private static SAXParser acquireParser() throws ParserConfigurationException, SAXException {
+        SAXParser parser = PARSERS.poll();
+        if (parser == null) {
+            // Factory is not guaranteed to be thread safe.
+            synchronized (FACTORY) {
+                parser = FACTORY.newSAXParser();
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * Return SAX parser into the pool.
+     * <p/>
+     *
+     * @param parser SAX parser instance.
+     */
+    private static void releaseParser(SAXParser parser) {
+        try {
+            parser.reset();
+        } catch (UnsupportedOperationException uoe) {
+            return;
+        }
+        if (PARSERS.size() < MAX_POOLED_PARSERS) {
+            PARSERS.offer(parser);
+        }
+    }
+
+    /**
+     * Parse XML document from stream using pooled SAX parser.
+     * <p/>
+     *
+     * @param is Stream to read XML document from. Stream is closed when finished.
+     * @param handler SAX handler receiving document content.
+     * @param resolver Entity resolver.
+     * @throws IllegalStateException when document could not be parsed.
+     */
+    private static void parse(InputStream is, DefaultHandler handler, EntityResolver resolver)
             throws IllegalStateException {
-        final String METHOD = "readXml";
-        boolean result = false;
-        InputStream is = null;
+        final String METHOD = "parse";
+        SAXParser saxParser = null;
         try {
-            // !PW FIXME what to do about entity resolvers? Timed out when
-            // looking up doctype for sun-resources.xml earlier today (Jul 10)
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            // !PW If namespace-aware is enabled, make sure localpart and
-            // qname are treated correctly in the handler code.
-            //
-            factory.setNamespaceAware(false);
-            SAXParser saxParser = factory.newSAXParser();
+            saxParser = acquireParser();
             org.xml.sax.XMLReader reader = saxParser.getXMLReader();
-
-            reader.setEntityResolver(DUMMY_RESOLVER);
-            DefaultHandler handler = new TreeParser(pathList);
+            reader.setEntityResolver(resolver);
             reader.setContentHandler(handler);
-            is = new BufferedInputStream(new FileInputStream(xmlFile));
+            reader.setDTDHandler(handler);
+            reader.setErrorHandler(handler);
             reader.parse(new InputSource(is));
-            result = true;
         } catch (ParserConfigurationException | SAXException | IOException ex) {
             throw new IllegalStateException(ex);
         } finally {
-            if (is != null) {
-                try {
-                    is.close();
-                } catch (IOException ex) {
-                    LOGGER.log(Level.INFO, METHOD, "cantClose", ex);
-                }
+            if (saxParser != null) {
+                releaseParser(saxParser);
+            }
+            try {
+                is.close();
+            } catch (IOException ex) {
+                LOGGER.log(Level.INFO, METHOD, "cantClose", ex);
             }
         }
-        return result;
     }
 
+    /**
+     * Parse XML file using pooled SAX parser. Remote DTDs or schemas are not accessed.
+     * <p/>
+     *
+     * @param xmlFile XML file to be parsed.
+     * @param handler SAX handler receiving document content.
+     * @throws IllegalStateException when file could not be read or parsed.
+     */
+    static void parse(File xmlFile, DefaultHandler handler) throws IllegalStateException {
+        // !PW FIXME what to do about entity resolvers? Timed out when
+        // looking up doctype for sun-resources.xml earlier today (Jul 10)
+        InputStream is;
+        try {
+            is = new BufferedInputStream(new FileInputStream(xmlFile));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        parse(is, handler, DUMMY_RESOLVER);
+    }
+
+    /**
+     * Invoke readers on XML file content.
+     * <p/>
+     * File is parsed only when it was not parsed before or when it was modified since. Otherwise
+     * cached document model is passed to readers.
+     * <p/>
+     *
+     * @param xmlFile XML file to be read.
+     * @param pathList Readers of XML file content.
+     * @return Value of <code>true</code> when file was read.
+     * @throws IllegalStateException when file could not be read or parsed.
+     * @see XmlModelCache
+     */
+    public static boolean readXml(File xmlFile, XMLReader... pathList)
+            throws IllegalStateException {
+        XmlModelCache.replay(xmlFile, new TreeParser(pathList));
+        return true;
+    }
+
+    /**
+     * Invoke readers on XML document content.
+     * <p/>
+     *
+     * @param xmlFile URL of XML document to be read.
+     * @param pathList Readers of XML document content.
+     * @return Value of <code>true</code> when document was read.
+     * @throws IllegalStateException when document could not be read or parsed.
+     */
     public static boolean readXml(URL xmlFile, XMLReader... pathList)
             throws IllegalStateException {
-        final String METHOD = "readXml";
-        boolean result = false;
-        InputStream is = null;
+        TreeParser handler = new TreeParser(pathList);
+        InputStream is;
         try {
-            // !PW FIXME what to do about entity resolvers? Timed out when
-            // looking up doctype for sun-resources.xml earlier today (Jul 10)
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            // !PW If namespace-aware is enabled, make sure localpart and
-            // qname are treated correctly in the handler code.
-            //
-            factory.setNamespaceAware(false);
-            SAXParser saxParser = factory.newSAXParser();
-            DefaultHandler handler = new TreeParser(pathList);
             is = new BufferedInputStream(xmlFile.openStream());
-            saxParser.parse(new InputSource(is), handler);
-            result = true;
-        } catch (ParserConfigurationException | SAXException | IOException ex) {
+        } catch (IOException ex) {
             throw new IllegalStateException(ex);
-        } finally {
-            if (is != null) {
-                try {
-                    is.close();
-                } catch (IOException ex) {
-                    LOGGER.log(Level.INFO, METHOD, "cantClose", ex);
-                }
-            }
         }
-        return result;
+        parse(is, handler, handler);
+        return true;
     }
 
     // Parser internal state
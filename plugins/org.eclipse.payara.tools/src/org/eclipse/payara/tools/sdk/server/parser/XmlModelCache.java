@@ -0,0 +1,299 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.server.parser;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Cache of parsed XML files (e.g. <code>domain.xml</code>).
+ * <p/>
+ * XML file is parsed once and its content is recorded as lightweight element tree. Readers are then
+ * served by replaying recorded SAX events from memory as long as file path, modification time and
+ * size do not change. This allows readers depending on results of other readers (e.g. target config
+ * name) to be run in separate phases without parsing the file again.
+ * <p/>
+ * Models are held by soft references so they may be reclaimed under memory pressure.
+ * <p/>
+ */
+public final class XmlModelCache {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Recorded XML element.
+     */
+    private static final class Element {
+
+        /** Element qualified name. */
+        private final String qname;
+
+        /** Element attributes. */
+        private final Attributes attributes;
+
+        /** Child elements and character data (<code>char[]</code>) in document order. */
+        private final List<Object> content = new ArrayList<>();
+
+        /**
+         * Creates an instance of recorded XML element.
+         * <p/>
+         *
+         * @param qname Element qualified name.
+         * @param attributes Element attributes (copied).
+         */
+        private Element(final String qname, final Attributes attributes) {
+            this.qname = qname;
+            this.attributes = new AttributesImpl(attributes);
+        }
+
+    }
+
+    /**
+     * Recorded XML file content with file stamp.
+     */
+    private static final class Model {
+
+        /** File modification time when file was parsed. */
+        private final long modified;
+
+        /** File size when file was parsed. */
+        private final long size;
+
+        /** Document root element. */
+        private final Element root;
+
+        /**
+         * Creates an instance of recorded XML file content.
+         * <p/>
+         *
+         * @param modified File modification time.
+         * @param size File size.
+         * @param root Document root element.
+         */
+        private Model(final long modified, final long size, final Element root) {
+            this.modified = modified;
+            this.size = size;
+            this.root = root;
+        }
+
+    }
+
+    /**
+     * SAX handler recording document into element tree.
+     */
+    private static final class Recorder extends DefaultHandler {
+
+        /** Currently open elements. */
+        private final Deque<Element> open = new ArrayDeque<>();
+
+        /** Character data not yet stored into current element. */
+        private final StringBuilder text = new StringBuilder();
+
+        /** Document root element. */
+        private Element root;
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName,
+                final Attributes attributes) {
+            flushText();
+            Element element = new Element(qName, attributes);
+            if (open.isEmpty()) {
+                root = element;
+            } else {
+                open.peek().content.add(element);
+            }
+            open.push(element);
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            text.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            flushText();
+            open.pop();
+        }
+
+        /**
+         * Store pending character data into current element.
+         */
+        private void flushText() {
+            if (text.length() > 0) {
+                if (!open.isEmpty()) {
+                    char[] data = new char[text.length()];
+                    text.getChars(0, data.length, data, 0);
+                    open.peek().content.add(data);
+                }
+                text.setLength(0);
+            }
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Maximum number of cached files. */
+    private static final int MAX_ENTRIES = 32;
+
+    /** Recorded XML files mapped to absolute file paths. */
+    private static final Map<String, SoftReference<Model>> cache = new ConcurrentHashMap<>();
+
+    /** Number of reads served from cache. */
+    private static final AtomicLong hits = new AtomicLong();
+
+    /** Number of reads which required parsing. */
+    private static final AtomicLong misses = new AtomicLong();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get recorded content of XML file. File is parsed when there is no valid cached content.
+     * <p/>
+     *
+     * @param xmlFile XML file.
+     * @return Recorded XML file content.
+     * @throws IllegalStateException when file could not be read or parsed.
+     */
+    private static Model model(final File xmlFile) throws IllegalStateException {
+        String key = xmlFile.getAbsolutePath();
+        // File stamp must be taken before parsing so concurrent modification is detected next time.
+        long modified = xmlFile.lastModified();
+        long size = xmlFile.length();
+        SoftReference<Model> ref = cache.get(key);
+        Model model = ref != null ? ref.get() : null;
+        if (model != null && model.modified == modified && model.size == size) {
+            hits.incrementAndGet();
+            return model;
+        }
+        misses.incrementAndGet();
+        Recorder recorder = new Recorder();
+        TreeParser.parse(xmlFile, recorder);
+        model = new Model(modified, size, recorder.root);
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.values().removeIf(entry -> entry.get() == null);
+            if (cache.size() >= MAX_ENTRIES) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new SoftReference<>(model));
+        return model;
+    }
+
+    /**
+     * Replay recorded element and its content into SAX handler.
+     * <p/>
+     *
+     * @param element Recorded element.
+     * @param handler SAX handler.
+     * @throws SAXException when handler failed.
+     */
+    private static void replay(final Element element, final DefaultHandler handler) throws SAXException {
+        handler.startElement("", "", element.qname, element.attributes);
+        for (Object item : element.content) {
+            if (item instanceof Element) {
+                replay((Element) item, handler);
+            } else {
+                char[] data = (char[]) item;
+                handler.characters(data, 0, data.length);
+            }
+        }
+        handler.endElement("", "", element.qname);
+    }
+
+    /**
+     * Pass content of XML file to SAX handler.
+     * <p/>
+     *
+     * @param xmlFile XML file.
+     * @param handler SAX handler.
+     * @throws IllegalStateException when file could not be read or parsed.
+     */
+    static void replay(final File xmlFile, final DefaultHandler handler) throws IllegalStateException {
+        Model model = model(xmlFile);
+        try {
+            handler.startDocument();
+            if (model.root != null) {
+                replay(model.root, handler);
+            }
+            handler.endDocument();
+        } catch (SAXException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Remove cached content of given XML file.
+     * <p/>
+     *
+     * @param xmlFile XML file.
+     */
+    public static void invalidate(final File xmlFile) {
+        cache.remove(xmlFile.getAbsolutePath());
+    }
+
+    /**
+     * Remove all cached XML files content.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Get number of reads served from cache.
+     * <p/>
+     *
+     * @return Number of reads served from cache.
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get number of reads which required parsing.
+     * <p/>
+     *
+     * @return Number of reads which required parsing.
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Do not instantiate this class.
+     */
+    private XmlModelCache() {
+        throw new UnsupportedOperationException();
+    }
+
+}
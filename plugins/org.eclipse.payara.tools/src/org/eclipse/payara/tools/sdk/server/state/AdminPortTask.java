@@ -19,8 +19,13 @@
 package org.eclipse.payara.tools.sdk.server.state;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.TaskEvent;
@@ -28,10 +33,14 @@ import org.eclipse.payara.tools.sdk.TaskState;
 import org.eclipse.payara.tools.sdk.data.GlassFishStatusCheck;
 import org.eclipse.payara.tools.sdk.data.GlassFishStatusCheckResult;
 import org.eclipse.payara.tools.sdk.logging.Logger;
+import org.eclipse.payara.tools.sdk.utils.PortProbe;
 
 /**
  * Individual server status check task to verify if server administration port is alive.
  * <p/>
+ * Connection is established by {@link PortProbe} selector thread so scheduler threads are not
+ * blocked while waiting for unreachable servers.
+ * <p/>
  *
  * @author Tomas Kraus
  */
@@ -141,23 +150,6 @@ class AdminPortTask extends AbstractTask {
         };
     }
 
-    /**
-     * Close socket and handle <code>IOException</code> that could be thrown.
-     * <p/>
-     *
-     * @param socket Socket to be closed.
-     */
-    private void closeSocket(final Socket socket) {
-        final String METHOD = "closeSocket";
-        try {
-            socket.close();
-        } catch (IOException ioe) {
-            handleIOException(ioe, job.getStatus().getServer().getHost(),
-                    job.getStatus().getServer().getAdminPort(),
-                    METHOD, "failed");
-        }
-    }
-
     /**
      * Handle IO Exception caught in server administration port verification task.
      * <p/>
@@ -181,7 +173,7 @@ class AdminPortTask extends AbstractTask {
                     tm(tm), host, Integer.toString(port), ioe.getMessage() });
 
         } else {
-            LOGGER.log(Level.FINEST, method, message, new Object[] {
+            LOGGER.log(Level.FINEST, method, message, () -> new Object[] {
                     host, Integer.toString(port), ioe.getMessage() });
         }
         result = new StatusResult(
@@ -190,23 +182,20 @@ class AdminPortTask extends AbstractTask {
                 stateChangeArgs(ioe.getLocalizedMessage()));
     }
 
-    ////////////////////////////////////////////////////////////////////////////
-    // Runnable run() method //
-    ////////////////////////////////////////////////////////////////////////////
-
     /**
-     * Thread main method to be executed.
+     * Start administration port connection attempt.
      * <p/>
-     * Runs administration port check.
+     *
+     * @return Connection attempt result or <code>null</code> when server administration host or port
+     * is not set.
      */
-    @Override
-    public void run() {
+    private CompletableFuture<Long> start() {
         final String METHOD = "run";
         if (cancelled) {
             LOGGER.log(Level.FINER, METHOD, "cancelled");
             throw new IllegalStateException(LOGGER.excMsg(METHOD, "cancelled"));
         }
-        LOGGER.log(Level.FINER, METHOD, "started", new String[] {
+        LOGGER.log(Level.FINER, METHOD, "started", () -> new Object[] {
                 job.getStatus().getServer().getName(), jobState.toString() });
         String host = job.getStatus().getServer().getHost();
         int port = job.getStatus().getServer().getAdminPort();
@@ -214,24 +203,36 @@ class AdminPortTask extends AbstractTask {
             result = new StatusResult(GlassFishStatusCheckResult.FAILED);
             handleStateChange(TaskState.FAILED,
                     TaskEvent.CMD_FAILED, stateChangeArgs(null));
+            return null;
         }
         this.tmStart = System.currentTimeMillis();
-        InetSocketAddress sa = new InetSocketAddress(host, port);
-        Socket socket = new Socket();
-        try {
-            socket.connect(sa, timeout);
-            socket.setSoTimeout(timeout);
-        } catch (java.net.ConnectException ce) {
-            handleIOException(ce, host, port, METHOD, "connect");
+        return PortProbe.connect(new InetSocketAddress(host, port), timeout);
+    }
+
+    /**
+     * Evaluate finished administration port connection attempt.
+     * <p/>
+     * Set task result and call registered listeners.
+     * <p/>
+     *
+     * @param failure Connection attempt failure or <code>null</code> when connection was established.
+     */
+    private void finish(final Throwable failure) {
+        final String METHOD = "run";
+        String host = job.getStatus().getServer().getHost();
+        int port = job.getStatus().getServer().getAdminPort();
+        if (failure instanceof ConnectException) {
+            handleIOException((IOException) failure, host, port, METHOD, "connect");
             return;
-        } catch (java.net.SocketTimeoutException ste) {
-            handleIOException(ste, host, port, METHOD, "timeout");
+        } else if (failure instanceof SocketTimeoutException) {
+            handleIOException((IOException) failure, host, port, METHOD, "timeout");
             return;
-        } catch (IOException ioe) {
-            handleIOException(ioe, host, port, METHOD, "ioException");
+        } else if (failure instanceof IOException) {
+            handleIOException((IOException) failure, host, port, METHOD, "ioException");
+            return;
+        } else if (failure != null) {
+            handleIOException(new IOException(failure), host, port, METHOD, "ioException");
             return;
-        } finally {
-            closeSocket(socket);
         }
         if (tmStart >= 0 && LOGGER.isLoggable(Level.FINEST)) {
             long tm = System.currentTimeMillis() - tmStart;
@@ -245,4 +246,52 @@ class AdminPortTask extends AbstractTask {
                 stateChangeArgs(null));
     }
 
+    /**
+     * Runs administration port check without blocking calling thread.
+     * <p/>
+     * Result is evaluated and listeners are notified using given executor.
+     * <p/>
+     *
+     * @param executor Executor used to evaluate connection attempt result.
+     * @return Future completed when port check is finished.
+     */
+    CompletableFuture<Void> runAsync(final Executor executor) {
+        CompletableFuture<Long> probe = start();
+        if (probe == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return probe.handleAsync((latency, failure) -> {
+            finish(failure);
+            return null;
+        }, executor);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Runnable run() method //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Thread main method to be executed.
+     * <p/>
+     * Runs administration port check and waits for its result.
+     */
+    @Override
+    public void run() {
+        CompletableFuture<Long> probe = start();
+        if (probe == null) {
+            return;
+        }
+        Throwable failure = null;
+        try {
+            probe.get();
+        } catch (ExecutionException ee) {
+            failure = ee.getCause();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            probe.cancel(false);
+            failure = new InterruptedIOException(ie.getLocalizedMessage());
+        }
+        finish(failure);
+    }
+
 }
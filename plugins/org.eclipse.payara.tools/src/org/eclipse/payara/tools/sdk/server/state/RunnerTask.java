@@ -129,7 +129,7 @@ class RunnerTask extends AbstractTask {
             LOGGER.log(Level.FINER, METHOD, "cancelled");
             throw new IllegalStateException(LOGGER.excMsg(METHOD, "cancelled"));
         }
-        LOGGER.log(Level.FINER, METHOD, "started", new String[] {
+        LOGGER.log(Level.FINER, METHOD, "started", () -> new Object[] {
                 job.getStatus().getServer().getName(), jobState.toString() });
         TaskStateListener[] listeners = task.getListeners();
         AdminFactory af = AdminFactory.getInstance(
@@ -30,6 +30,8 @@ import static org.eclipse.payara.tools.sdk.server.state.StatusJobState.UNKNOWN;
 import static org.eclipse.payara.tools.sdk.server.state.StatusJobState.UNKNOWN_PORT;
 
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.GlassFishStatus;
@@ -805,6 +807,18 @@ public class StatusJob {
     /** Listeners to be notified about every server status check error. */
     private final LinkedList<GlassFishStatusListener> errorListeners;
 
+    /** Number of executed status checks. */
+    private final AtomicLong checks = new AtomicLong();
+
+    /** Total time spent in status checks [ns]. */
+    private final AtomicLong totalLatency = new AtomicLong();
+
+    /** Time spent in last status check [ns]. */
+    private volatile long lastLatency;
+
+    /** Current delay between status checks [ms]. */
+    private volatile long interval;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -894,10 +908,65 @@ public class StatusJob {
         return version;
     }
 
+    /**
+     * Get number of executed status checks.
+     * <p/>
+     *
+     * @return Number of executed status checks.
+     */
+    public long getChecks() {
+        return checks.get();
+    }
+
+    /**
+     * Get average time spent in single status check.
+     * <p/>
+     *
+     * @return Average time spent in single status check [ms].
+     */
+    public long getAverageLatency() {
+        long count = checks.get();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / count) : 0;
+    }
+
+    /**
+     * Get time spent in last status check.
+     * <p/>
+     *
+     * @return Time spent in last status check [ms].
+     */
+    public long getLastLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLatency);
+    }
+
+    /**
+     * Get current delay between status checks.
+     * <p/>
+     *
+     * @return Current delay between status checks [ms].
+     */
+    public long getInterval() {
+        return interval;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Methods //
     ////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Record status check execution.
+     * <p/>
+     *
+     * @param latency Time spent in status check [ns].
+     * @param nextDelay Delay before next status check [ms].
+     */
+    void recordCheck(final long latency, final long nextDelay) {
+        checks.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        lastLatency = latency;
+        interval = nextDelay;
+    }
+
     /**
      * Attempts to restart job switching it into <code>UNKNOWN_PORT</code> state to restart status
      * checking with fastest possible check.
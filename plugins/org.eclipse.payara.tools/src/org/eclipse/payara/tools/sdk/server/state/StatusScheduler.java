@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.payara.tools.sdk.GlassFishStatus;
@@ -37,6 +38,11 @@ import org.eclipse.payara.tools.server.PayaraServer;
  * Thread responsible for processing all server status checks and updating server status entity
  * objects with current server status.
  * <p/>
+ * Delay between checks adapts to server state. Checks run faster during startup and shutdown,
+ * slow down exponentially while server stays offline and slightly when server stays online. Every
+ * delay is randomized to avoid synchronized bursts of checks. Internal executor pool size follows
+ * number of registered servers.
+ * <p/>
  *
  * @author Tomas Kraus
  */
@@ -92,6 +98,83 @@ public class StatusScheduler {
         }
     }
 
+    /**
+     * Periodic execution of status check task with adaptive delay.
+     * <p/>
+     * Task schedules itself again after each execution until it is canceled. Delay is computed from
+     * job internal state and number of checks executed in this state.
+     */
+    private final class PeriodicTask implements Runnable {
+
+        /** Server status check job internal data. */
+        private final StatusJob job;
+
+        /** Individual status check task data. */
+        private final StatusJob.Task task;
+
+        /** Status check task to be executed. */
+        private final AbstractTask runnable;
+
+        /** Number of checks executed since this task was scheduled. */
+        private int runs;
+
+        /**
+         * Creates an instance of periodic status check task.
+         * <p/>
+         *
+         * @param job Server status check job internal data.
+         * @param task Individual status check task data.
+         * @param runnable Status check task to be executed.
+         */
+        private PeriodicTask(final StatusJob job, final StatusJob.Task task,
+                final AbstractTask runnable) {
+            this.job = job;
+            this.task = task;
+            this.runnable = runnable;
+        }
+
+        /**
+         * Execute status check and schedule next execution.
+         * <p/>
+         * Administration port check does not block executor thread while connecting. Next execution
+         * is scheduled when connection attempt is finished.
+         */
+        @Override
+        public void run() {
+            if (runnable.cancelled) {
+                return;
+            }
+            long start = System.nanoTime();
+            if (runnable instanceof AdminPortTask) {
+                ((AdminPortTask) runnable).runAsync(executor)
+                        .whenComplete((result, failure) -> reschedule(start));
+            } else {
+                try {
+                    runnable.run();
+                } finally {
+                    reschedule(start);
+                }
+            }
+        }
+
+        /**
+         * Record finished status check and schedule next execution.
+         * <p/>
+         *
+         * @param start Status check start time [ns].
+         */
+        private void reschedule(final long start) {
+            long delay = jitter(selectDelay(job.getState(), ++runs));
+            job.recordCheck(System.nanoTime() - start, delay);
+            synchronized (job) {
+                if (!runnable.cancelled && !executor.isShutdown()) {
+                    task.setFuture(executor.schedule(this, delay, TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Class attributes //
     ////////////////////////////////////////////////////////////////////////////
@@ -105,20 +188,47 @@ public class StatusScheduler {
     /** Singleton object instance. */
     private static volatile StatusScheduler instance;
 
+    /** Internal executor was created. */
+    private static boolean internalExecutor;
+
     /**
-     * The number of threads to keep in the pool, even if they are idle. Applies only to internal
+     * Minimal number of threads to keep in the pool, even if they are idle. Applies only to internal
      * executor.
      */
-    private static final int DEFAULT_INTERNAL_CORE_POOL_SIZE = 3;
+    private static final int MIN_INTERNAL_POOL_SIZE = 2;
+
+    /** Maximal number of threads in the pool. Applies only to internal executor. */
+    private static final int MAX_INTERNAL_POOL_SIZE = 8;
+
+    /** Number of server status jobs per pool thread. Applies only to internal executor. */
+    private static final int JOBS_PER_THREAD = 2;
+
+    /** Time idle pool threads above minimal pool size are kept alive [s]. */
+    private static final long KEEP_ALIVE = 60;
 
     /** Tasks execution delay [ms]. */
     private static final long DELAY = 6000;
 
+    /** Tasks execution delay when server is online for a long time [ms]. */
+    private static final long DELAY_STABLE = 15000;
+
+    /** Number of checks after which server online state is considered stable. */
+    private static final int STABLE_RUNS = 10;
+
+    /** Maximal tasks execution delay when server stays offline [ms]. */
+    private static final long DELAY_OFFLINE_MAX = 60000;
+
+    /** Maximal exponent of offline delay backoff. */
+    private static final int MAX_BACKOFF_SHIFT = 4;
+
+    /** Tasks execution delay jitter as fraction of delay. */
+    private static final double JITTER = 0.1;
+
     /** Tasks execution initial delay [ms]. */
     private static final long INITIAL_DELAY = 2000;
 
     /** Tasks execution delay in startup mode [ms]. */
-    private static final long DELAY_STARTUP = 3000;
+    private static final long DELAY_STARTUP = 1000;
 
     /** Tasks execution initial delay in startup mode [ms]. */
     private static final long INITIAL_DELAY_STARTUP = 1000;
@@ -156,8 +266,9 @@ public class StatusScheduler {
      */
     private static ScheduledThreadPoolExecutor newScheduledExecutor() {
         ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
-                DEFAULT_INTERNAL_CORE_POOL_SIZE, new ThreadFactory());
+                MIN_INTERNAL_POOL_SIZE, new ThreadFactory());
         executor.setRemoveOnCancelPolicy(true);
+        executor.setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
         return executor;
     }
 
@@ -175,6 +286,7 @@ public class StatusScheduler {
             if (instance == null) {
                 if (scheduledExecutor == null) {
                     scheduledExecutor = newScheduledExecutor();
+                    internalExecutor = true;
                 }
                 instance = new StatusScheduler(scheduledExecutor);
             }
@@ -182,6 +294,39 @@ public class StatusScheduler {
         return instance;
     }
 
+    /**
+     * Select tasks execution delay depending on current job internal state and number of checks
+     * already executed in this state.
+     * <p/>
+     *
+     * @param state Current job internal state.
+     * @param runs Number of checks executed in current state.
+     * @return Tasks execution delay.
+     */
+    private static long selectDelay(final StatusJobState state, final int runs) {
+        switch (state) {
+        case OFFLINE:
+        case OFFLINE_PORT:
+            return Math.min(DELAY << Math.min(runs, MAX_BACKOFF_SHIFT), DELAY_OFFLINE_MAX);
+        case ONLINE:
+            return runs < STABLE_RUNS ? DELAY : DELAY_STABLE;
+        default:
+            return selectDelay(state);
+        }
+    }
+
+    /**
+     * Randomize tasks execution delay.
+     * <p/>
+     *
+     * @param delay Tasks execution delay.
+     * @return Tasks execution delay changed by random value up to <code>JITTER</code> fraction of it.
+     */
+    private static long jitter(final long delay) {
+        long range = (long) (delay * JITTER);
+        return range > 0 ? delay + ThreadLocalRandom.current().nextLong(-range, range + 1) : delay;
+    }
+
     /**
      * Select tasks execution delay depending on current job internal state.
      * <p/>
@@ -432,6 +577,7 @@ public class StatusScheduler {
         synchronized (jobs) {
             if (jobs.get(job.getStatus().getServer()) == null) {
                 jobs.put(job.getStatus().getServer(), job);
+                resizePool();
                 return true;
             } else {
                 return false;
@@ -451,10 +597,45 @@ public class StatusScheduler {
         StatusJob job;
         synchronized (jobs) {
             job = jobs.remove(srv);
+            resizePool();
         }
         return job;
     }
 
+    /**
+     * Update internal executor pool size to follow number of server status jobs.
+     * <p/>
+     * External executor is not modified. Caller must own <code>jobs</code> lock.
+     */
+    private void resizePool() {
+        if (internalExecutor) {
+            int size = Math.max(MIN_INTERNAL_POOL_SIZE, Math.min(MAX_INTERNAL_POOL_SIZE,
+                    (jobs.size() + JOBS_PER_THREAD - 1) / JOBS_PER_THREAD));
+            if (size != executor.getCorePoolSize()) {
+                executor.setCorePoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * Schedule periodic execution of status check task with adaptive delay.
+     * <p/>
+     * Caller must own <code>job</code> lock.
+     * <p/>
+     *
+     * @param job Server status check job internal data.
+     * @param task Individual status check task data.
+     * @param runnable Status check task to be executed.
+     * @param initialDelay Task execution initial delay.
+     */
+    private ScheduledFuture schedule(final StatusJob job, final StatusJob.Task task,
+            final AbstractTask runnable, final long initialDelay) {
+        ScheduledFuture scheduledFuture = executor.schedule(
+                new PeriodicTask(job, task, runnable), jitter(initialDelay), TimeUnit.MILLISECONDS);
+        task.setTaskFuture(runnable, scheduledFuture);
+        return scheduledFuture;
+    }
+
     /**
      * Schedule periodic execution of <code>__locations</code> asynchronous task.
      * <p/>
@@ -468,11 +649,7 @@ public class StatusScheduler {
             final StatusJob job, final long initialDelay) {
         RunnerTask runnerTask = new RunnerTask(job,
                 job.getLocations(), GlassFishStatusCheck.LOCATIONS);
-        long delay = selectDelay(job.getState());
-        ScheduledFuture scheduledFuture = executor.scheduleWithFixedDelay(
-                runnerTask, initialDelay, delay, TimeUnit.MILLISECONDS);
-        job.getLocations().setTaskFuture(runnerTask, scheduledFuture);
-        return scheduledFuture;
+        return schedule(job, job.getLocations(), runnerTask, initialDelay);
     }
 
     /**
@@ -488,11 +665,7 @@ public class StatusScheduler {
             final StatusJob job, final long initialDelay) {
         RunnerTask runnerTask = new RunnerTask(job,
                 job.getVersion(), GlassFishStatusCheck.VERSION);
-        long delay = selectDelay(job.getState());
-        ScheduledFuture scheduledFuture = executor.scheduleWithFixedDelay(
-                runnerTask, initialDelay, delay, TimeUnit.MILLISECONDS);
-        job.getVersion().setTaskFuture(runnerTask, scheduledFuture);
-        return scheduledFuture;
+        return schedule(job, job.getVersion(), runnerTask, initialDelay);
     }
 
     /**
@@ -532,12 +705,8 @@ public class StatusScheduler {
     private ScheduledFuture scheduleAdminPortTask(final StatusJob job) {
         AdminPortTask portTask = new AdminPortTask(job,
                 job.getPortCheck(), CONNECT_TIMEOUT);
-        long delay = selectDelay(job.getState());
-        long initialDelay = selectInitialDelay(job.getState());
-        ScheduledFuture scheduledFuture = executor.scheduleWithFixedDelay(
-                portTask, initialDelay, delay, TimeUnit.MILLISECONDS);
-        job.getPortCheck().setTaskFuture(portTask, scheduledFuture);
-        return scheduledFuture;
+        return schedule(job, job.getPortCheck(), portTask,
+                selectInitialDelay(job.getState()));
     }
 
     /**
@@ -0,0 +1,586 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded single producer / single consumer byte ring buffer.
+ * <p/>
+ * Replacement of <code>PipedOutputStream</code> and <code>PipedInputStream</code> pair. Data are
+ * written using {@link #getOutputStream()} by exactly one thread and read using
+ * {@link #getInputStream()} by exactly one other thread. Reader and writer do not share any lock.
+ * Waiting thread is parked and woken up by the other side as soon as data or free space is available.
+ * <p/>
+ * Behavior of writer when buffer is full is given by {@link Overflow} policy.
+ * <p/>
+ */
+public class ByteRingBuffer {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Policy applied when writer finds the buffer full.
+     */
+    public enum Overflow {
+        /** Writer waits until reader consumes some data. */
+        BLOCK,
+        /** Oldest unread data are discarded. */
+        DROP_OLDEST,
+        /** Data are stored into temporary file until reader catches up. */
+        SPILL
+    }
+
+    /**
+     * Reading side of the ring buffer.
+     */
+    public final class RingInputStream extends InputStream {
+
+        /** Reused target of single byte read. */
+        private final byte[] single = new byte[1];
+
+        /**
+         * Get ring buffer of this stream.
+         * <p/>
+         *
+         * @return Ring buffer of this stream.
+         */
+        public ByteRingBuffer getBuffer() {
+            return ByteRingBuffer.this;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return ByteRingBuffer.this.read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            return len == 0 ? 0 : ByteRingBuffer.this.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, getBuffered());
+        }
+
+        @Override
+        public void close() {
+            closeReader();
+        }
+
+    }
+
+    /**
+     * Writing side of the ring buffer.
+     */
+    public final class RingOutputStream extends OutputStream {
+
+        /** Reused source of single byte write. */
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(final int b) throws IOException {
+            single[0] = (byte) b;
+            ByteRingBuffer.this.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            ByteRingBuffer.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closeWriter();
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Maximum time to stay parked before checking buffer state again [ns]. */
+    private static final long PARK_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Temporary spill file name prefix. */
+    private static final String SPILL_PREFIX = "payara-log";
+
+    /** Temporary spill file name suffix. */
+    private static final String SPILL_SUFFIX = ".spill";
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Buffer content. */
+    private final byte[] buffer;
+
+    /** Policy applied when buffer is full. */
+    private final Overflow overflow;
+
+    /**
+     * Total number of bytes removed from the buffer. Advanced by reader and also by writer when
+     * dropping oldest data.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /** Total number of bytes stored into the buffer. Advanced by writer only. */
+    private volatile long tail;
+
+    /** Writing side was closed. */
+    private volatile boolean writerClosed;
+
+    /** Reading side was closed. */
+    private volatile boolean readerClosed;
+
+    /** Reader thread waiting for data. */
+    private volatile Thread waitingReader;
+
+    /** Writer thread waiting for free space. */
+    private volatile Thread waitingWriter;
+
+    /** Temporary file storing data which did not fit into the buffer. */
+    private volatile FileChannel spill;
+
+    /**
+     * Guards spill file positions. Taken only when data go through spill file, so it is never
+     * contended while data fit into the buffer.
+     */
+    private final Object spillLock = new Object();
+
+    /**
+     * Spill file contains unread data. Set by writer after data were stored, cleared by reader when
+     * spill file was drained. Writer does not store anything into the buffer while it is set.
+     */
+    private volatile boolean spilling;
+
+    /** Position in spill file where next data are written. */
+    private long spillTail;
+
+    /** Position in spill file where next data are read. */
+    private long spillHead;
+
+    /** Total number of bytes written into spill file. */
+    private final AtomicLong spilled = new AtomicLong();
+
+    /** Number of bytes discarded because of overflow. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Number of bytes written into this buffer. */
+    private final AtomicLong written = new AtomicLong();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of byte ring buffer.
+     * <p/>
+     *
+     * @param capacity Buffer capacity in bytes.
+     * @param overflow Policy applied when buffer is full.
+     */
+    public ByteRingBuffer(final int capacity, final Overflow overflow) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity shall be at least 1.");
+        }
+        this.buffer = new byte[capacity];
+        this.overflow = overflow != null ? overflow : Overflow.BLOCK;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Getters //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get new reading side of the ring buffer.
+     * <p/>
+     *
+     * @return Input stream reading data from the ring buffer.
+     */
+    public RingInputStream getInputStream() {
+        return new RingInputStream();
+    }
+
+    /**
+     * Get new writing side of the ring buffer.
+     * <p/>
+     *
+     * @return Output stream writing data into the ring buffer.
+     */
+    public RingOutputStream getOutputStream() {
+        return new RingOutputStream();
+    }
+
+    /**
+     * Get buffer capacity.
+     * <p/>
+     *
+     * @return Buffer capacity in bytes.
+     */
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Get policy applied when buffer is full.
+     * <p/>
+     *
+     * @return Policy applied when buffer is full.
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Get number of bytes waiting to be read, including bytes stored in spill file.
+     * <p/>
+     *
+     * @return Number of bytes waiting to be read.
+     */
+    public long getBuffered() {
+        long buffered = tail - head.get();
+        if (spilling) {
+            synchronized (spillLock) {
+                buffered += spillTail - spillHead;
+            }
+        }
+        return buffered;
+    }
+
+    /**
+     * Get number of bytes discarded because of overflow.
+     * <p/>
+     *
+     * @return Number of bytes discarded because of overflow.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Get total number of bytes written into spill file.
+     * <p/>
+     *
+     * @return Total number of bytes written into spill file.
+     */
+    public long getSpilled() {
+        return spilled.get();
+    }
+
+    /**
+     * Get total number of bytes written into this buffer.
+     * <p/>
+     *
+     * @return Total number of bytes written into this buffer.
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Get current size of spill file.
+     * <p/>
+     *
+     * @return Size of spill file or <code>0</code> when no data were spilled yet.
+     * @throws IOException when spill file size could not be read.
+     */
+    long getSpillFileSize() throws IOException {
+        FileChannel channel = spill;
+        return channel != null ? channel.size() : 0;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Write data into the buffer.
+     * <p/>
+     *
+     * @param b Source data.
+     * @param off Offset of first byte in source data.
+     * @param len Number of bytes to write.
+     * @throws IOException when either side of the buffer was closed or spill file failed.
+     */
+    private void write(final byte[] b, int off, int len) throws IOException {
+        final int capacity = buffer.length;
+        while (len > 0) {
+            if (writerClosed || readerClosed) {
+                throw new IOException("Pipe closed");
+            }
+            // Once spilling started, keep data order until reader drains the spill file.
+            if (spilling) {
+                spill(b, off, len);
+                return;
+            }
+            long h = head.get();
+            long t = tail;
+            int free = capacity - (int) (t - h);
+            if (free == 0) {
+                switch (overflow) {
+                case DROP_OLDEST:
+                    int drop = Math.min(len, capacity);
+                    if (head.compareAndSet(h, h + drop)) {
+                        dropped.addAndGet(drop);
+                    }
+                    continue;
+                case SPILL:
+                    spill(b, off, len);
+                    return;
+                default:
+                    awaitSpace();
+                    continue;
+                }
+            }
+            int count = Math.min(free, len);
+            int pos = (int) (t % capacity);
+            int first = Math.min(count, capacity - pos);
+            System.arraycopy(b, off, buffer, pos, first);
+            if (first < count) {
+                System.arraycopy(b, off + first, buffer, 0, count - first);
+            }
+            tail = t + count;
+            written.addAndGet(count);
+            off += count;
+            len -= count;
+            wake(waitingReader);
+        }
+    }
+
+    /**
+     * Read data from the buffer.
+     * <p/>
+     * Blocks until at least one byte is available or writing side is closed.
+     * <p/>
+     *
+     * @param b Target array.
+     * @param off Offset of first byte in target array.
+     * @param len Maximum number of bytes to read.
+     * @return Number of bytes read or <code>-1</code> when writing side was closed and all data were
+     * read.
+     * @throws IOException when reading side was closed, reader was interrupted or spill file failed.
+     */
+    private int read(final byte[] b, final int off, final int len) throws IOException {
+        final int capacity = buffer.length;
+        while (true) {
+            if (readerClosed) {
+                throw new IOException("Stream closed");
+            }
+            // Read closed flag first: all data written before close are visible then.
+            boolean closed = writerClosed;
+            long h = head.get();
+            long t = tail;
+            if (h < t) {
+                int count = (int) Math.min(t - h, len);
+                int pos = (int) (h % capacity);
+                int first = Math.min(count, capacity - pos);
+                System.arraycopy(buffer, pos, b, off, first);
+                if (first < count) {
+                    System.arraycopy(buffer, 0, b, off + first, count - first);
+                }
+                // Copied data may have been overwritten when writer dropped them meanwhile.
+                if (head.compareAndSet(h, h + count)) {
+                    wake(waitingWriter);
+                    return count;
+                }
+                continue;
+            }
+            if (spilling) {
+                // Buffer data stored before spilling started shall be read first. Tail read above
+                // may be older than spilling flag, so check it again.
+                if (tail != h) {
+                    continue;
+                }
+                int count = unspill(b, off, len);
+                if (count > 0) {
+                    return count;
+                }
+                continue;
+            }
+            if (closed) {
+                return -1;
+            }
+            awaitData();
+        }
+    }
+
+    /**
+     * Store data into spill file.
+     * <p/>
+     *
+     * @param b Source data.
+     * @param off Offset of first byte in source data.
+     * @param len Number of bytes to store.
+     * @throws IOException when spill file could not be created or written.
+     */
+    private void spill(final byte[] b, final int off, final int len) throws IOException {
+        FileChannel channel = spill;
+        if (channel == null) {
+            Path file = Files.createTempFile(SPILL_PREFIX, SPILL_SUFFIX);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            spill = channel;
+            if (readerClosed) {
+                channel.close();
+                throw new IOException("Pipe closed");
+            }
+        }
+        synchronized (spillLock) {
+            ByteBuffer src = ByteBuffer.wrap(b, off, len);
+            long pos = spillTail;
+            while (src.hasRemaining()) {
+                pos += channel.write(src, pos);
+            }
+            spillTail = pos;
+            spilling = true;
+        }
+        spilled.addAndGet(len);
+        written.addAndGet(len);
+        wake(waitingReader);
+    }
+
+    /**
+     * Read data from spill file.
+     * <p/>
+     * Spill file is truncated when all its data were read, so it does not grow while reader keeps
+     * up with writer.
+     * <p/>
+     *
+     * @param b Target array.
+     * @param off Offset of first byte in target array.
+     * @param len Maximum number of bytes to read.
+     * @return Number of bytes read, <code>0</code> when spill file is empty.
+     * @throws IOException when spill file could not be read.
+     */
+    private int unspill(final byte[] b, final int off, final int len) throws IOException {
+        synchronized (spillLock) {
+            long pos = spillHead;
+            int count = (int) Math.min(spillTail - pos, len);
+            if (count <= 0) {
+                return 0;
+            }
+            int read = spill.read(ByteBuffer.wrap(b, off, count), pos);
+            if (read < 0) {
+                throw new IOException("Spill file truncated");
+            }
+            spillHead = pos + read;
+            if (spillHead == spillTail) {
+                spill.truncate(0);
+                spillHead = 0;
+                spillTail = 0;
+                spilling = false;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Park writer thread until reader consumes some data or any side is closed.
+     * <p/>
+     *
+     * @throws InterruptedIOException when writer thread was interrupted.
+     */
+    private void awaitSpace() throws InterruptedIOException {
+        waitingWriter = Thread.currentThread();
+        try {
+            // Check state again after registration so wake up from reader is not lost.
+            if (tail - head.get() >= buffer.length && !writerClosed && !readerClosed) {
+                LockSupport.parkNanos(this, PARK_TIMEOUT);
+            }
+        } finally {
+            waitingWriter = null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Park reader thread until writer stores some data or any side is closed.
+     * <p/>
+     *
+     * @throws InterruptedIOException when reader thread was interrupted.
+     */
+    private void awaitData() throws InterruptedIOException {
+        waitingReader = Thread.currentThread();
+        try {
+            // Check state again after registration so wake up from writer is not lost.
+            if (tail == head.get() && !spilling && !writerClosed && !readerClosed) {
+                LockSupport.parkNanos(this, PARK_TIMEOUT);
+            }
+        } finally {
+            waitingReader = null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Wake up parked thread.
+     * <p/>
+     *
+     * @param thread Thread to wake up, may be <code>null</code>.
+     */
+    private static void wake(final Thread thread) {
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Close writing side. Reader receives end of stream after all remaining data are read.
+     */
+    private void closeWriter() {
+        writerClosed = true;
+        wake(waitingReader);
+        wake(waitingWriter);
+    }
+
+    /**
+     * Close reading side. Remaining data are discarded and writer fails on next write.
+     */
+    private void closeReader() {
+        readerClosed = true;
+        wake(waitingWriter);
+        wake(waitingReader);
+        FileChannel channel = spill;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ioe) {
+                // Temporary file is removed on exit anyway.
+            }
+        }
+    }
+
+}
@@ -90,7 +90,8 @@ public class JavaUtils {
     // private static final String VM_VERSION_PATTERN =
     // " *[jJ][aA][vV][aA] +[vV][eE][rR][sS][iI][oO][nN] +" +
     // "\"{0,1}([0-9]+).([0-9]+).([0-9]+)_([0-9]+)\"{0,1} *";
-    private static final String VM_VERSION_PATTERN = "[^0-9]*([0-9]+)\\.([0-9]+)(?:\\.([0-9]+)(?:[-_\\.]([0-9]+)){0,1}){0,1}[^0-9]*";
+    private static final Pattern VM_VERSION_PATTERN = Pattern.compile(
+            "[^0-9]*([0-9]+)\\.([0-9]+)(?:\\.([0-9]+)(?:[-_\\.]([0-9]+)){0,1}){0,1}[^0-9]*");
 
     /**
      * Number of <code>Matcher</code> groups (REGEX tokens) expected in Java VM version output.
@@ -248,10 +249,9 @@ public class JavaUtils {
 		BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
 		int major = 0, minor = 0, revision = 0, patch = 0;
 		String line;
-		Pattern pattern = Pattern.compile(VM_VERSION_PATTERN);
 		try {
 			while ((line = in.readLine()) != null) {
-				Matcher matcher = pattern.matcher(line);
+				Matcher matcher = VM_VERSION_PATTERN.matcher(line);
 				if (matcher.find()) {
 					int groupCount = matcher.groupCount();
 					if (groupCount >= VM_MIN_VERSION_TOKENS) {
@@ -274,8 +274,19 @@ public class JavaUtils {
 		return new JavaVersion(major, minor, revision, patch);
 	}
 	
+    /**
+     * Get version string of Java SE in given Java home.
+     * <p/>
+     * Version is read from Java home <code>release</code> file or cache when possible, Java VM is
+     * executed only when neither of them provides the version.
+     * <p/>
+     *
+     * @param javaHome Full path to Java Home directory.
+     * @return Version string in <code>&lt;java.version&gt;:&lt;java.specification.version&gt;</code>
+     * format or <code>null</code> when version could not be determined.
+     */
 	public static String getJavaVersionString(String javaHome) {
-		return getJavaVersionString(new File(javaVmExecutableFullPath(javaHome)));
+		return JavaVersionCache.getVersion(javaHome);
 	}
 	
 	public static String getJavaVersionString(File javaVm) {
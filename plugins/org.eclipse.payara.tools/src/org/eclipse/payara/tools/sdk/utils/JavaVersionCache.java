@@ -0,0 +1,291 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.eclipse.payara.tools.sdk.GlassFishToolsConfig;
+import org.eclipse.payara.tools.sdk.logging.Logger;
+
+/**
+ * Persistent cache of Java SE version strings mapped to Java home directories.
+ * <p/>
+ * Version string is read from <code>release</code> file of Java home when possible, so no Java VM
+ * process has to be started. Java VM version probe is executed only when <code>release</code> file
+ * is missing or does not contain version. Cache entries are validated by modification times of
+ * <code>release</code> file and Java VM executable. Cache is stored in
+ * {@link GlassFishToolsConfig#getCacheDirectory()}.
+ * <p/>
+ */
+final class JavaVersionCache {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Cache entry of single Java home.
+     */
+    private static final class Entry {
+
+        /** Modification time of <code>release</code> file or <code>0</code>. */
+        private final long releaseModified;
+
+        /** Modification time of Java VM executable. */
+        private final long javaModified;
+
+        /** Time spent to resolve version string [ms]. */
+        private final long resolveTime;
+
+        /** Java version and specification version separated by <code>:</code>. */
+        private final String version;
+
+        /**
+         * Creates an instance of cache entry.
+         * <p/>
+         *
+         * @param releaseModified Modification time of <code>release</code> file.
+         * @param javaModified Modification time of Java VM executable.
+         * @param resolveTime Time spent to resolve version string.
+         * @param version Java version string.
+         */
+        private Entry(final long releaseModified, final long javaModified,
+                final long resolveTime, final String version) {
+            this.releaseModified = releaseModified;
+            this.javaModified = javaModified;
+            this.resolveTime = resolveTime;
+            this.version = version;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(JavaVersionCache.class);
+
+    /** Cache file name. */
+    private static final String FILE_NAME = "java-versions.properties";
+
+    /** Java home <code>release</code> file name. */
+    private static final String RELEASE_FILE = "release";
+
+    /** Java version key in <code>release</code> file. */
+    private static final String RELEASE_VERSION = "JAVA_VERSION";
+
+    /** Cache entry fields separator. */
+    private static final char SEPARATOR = ':';
+
+    /** Cache entries mapped to Java home paths. */
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Cache was loaded from disk. */
+    private static boolean loaded;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creating instances of this class is not allowed.
+     */
+    private JavaVersionCache() {
+        throw new UnsupportedOperationException("Creating instances of this class is not allowed.");
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get version string of Java SE in given Java home.
+     * <p/>
+     * Version string has <code>&lt;java.version&gt;:&lt;java.specification.version&gt;</code>
+     * format like output of {@link JavaVersionDetector}.
+     * <p/>
+     *
+     * @param javaHome Java home directory.
+     * @return Version string or <code>null</code> when version could not be determined.
+     */
+    static String getVersion(final String javaHome) {
+        final String METHOD = "getVersion";
+        load();
+        long start = System.nanoTime();
+        File home = new File(javaHome).getAbsoluteFile();
+        File release = new File(home, RELEASE_FILE);
+        File javaVm = new File(JavaUtils.javaVmExecutableFullPath(home.getPath()));
+        long releaseModified = release.lastModified();
+        long javaModified = javaVm.lastModified();
+
+        Entry entry = entries.get(home.getPath());
+        if (entry != null && entry.releaseModified == releaseModified
+                && entry.javaModified == javaModified) {
+            LOGGER.log(Level.FINE, METHOD, "cached", new Object[] {
+                    home.getPath(), entry.version, elapsed(start), entry.resolveTime });
+            return entry.version;
+        }
+
+        String source = RELEASE_FILE;
+        String version = releaseModified != 0 ? readRelease(release) : null;
+        if (version == null) {
+            source = "probe";
+            version = JavaUtils.getJavaVersionString(javaVm);
+        }
+        long resolveTime = elapsed(start);
+        LOGGER.log(Level.FINE, METHOD, "resolved", new Object[] {
+                home.getPath(), version, source, resolveTime });
+        if (version != null) {
+            entries.put(home.getPath(),
+                    new Entry(releaseModified, javaModified, resolveTime, version));
+            save();
+        }
+        return version;
+    }
+
+    /**
+     * Read version string from Java home <code>release</code> file.
+     * <p/>
+     *
+     * @param release Java home <code>release</code> file.
+     * @return Version string or <code>null</code> when file does not contain Java version.
+     */
+    private static String readRelease(final File release) {
+        final String METHOD = "readRelease";
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(release)) {
+            props.load(in);
+        } catch (IOException ioe) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] {
+                    release.getAbsolutePath(), ioe.getLocalizedMessage() });
+            return null;
+        }
+        String javaVersion = props.getProperty(RELEASE_VERSION);
+        if (javaVersion == null) {
+            return null;
+        }
+        javaVersion = javaVersion.trim();
+        if (javaVersion.length() > 1 && javaVersion.startsWith("\"") && javaVersion.endsWith("\"")) {
+            javaVersion = javaVersion.substring(1, javaVersion.length() - 1);
+        }
+        String specVersion = specificationVersion(javaVersion);
+        return specVersion != null ? javaVersion + SEPARATOR + specVersion : null;
+    }
+
+    /**
+     * Derive Java specification version from Java version, e.g. <code>1.8</code> from
+     * <code>1.8.0_222</code> or <code>11</code> from <code>11.0.4</code>.
+     * <p/>
+     *
+     * @param javaVersion Java version.
+     * @return Java specification version or <code>null</code> when Java version is not valid.
+     */
+    private static String specificationVersion(final String javaVersion) {
+        int end = 0;
+        while (end < javaVersion.length() && Character.isDigit(javaVersion.charAt(end))) {
+            end++;
+        }
+        if (end == 0) {
+            return null;
+        }
+        if (end == 1 && javaVersion.startsWith("1.")) {
+            int minorEnd = 2;
+            while (minorEnd < javaVersion.length() && Character.isDigit(javaVersion.charAt(minorEnd))) {
+                minorEnd++;
+            }
+            return minorEnd > 2 ? javaVersion.substring(0, minorEnd) : null;
+        }
+        return javaVersion.substring(0, end);
+    }
+
+    /**
+     * Get milliseconds elapsed since given {@link System#nanoTime()} value.
+     */
+    private static long elapsed(final long start) {
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    /**
+     * Load stored cache entries once. Malformed entries are ignored.
+     */
+    private static synchronized void load() {
+        final String METHOD = "load";
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        File file = new File(GlassFishToolsConfig.getCacheDirectory(), FILE_NAME);
+        if (!file.isFile()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            props.load(in);
+        } catch (IOException ioe) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] {
+                    file.getAbsolutePath(), ioe.getLocalizedMessage() });
+            return;
+        }
+        for (String javaHome : props.stringPropertyNames()) {
+            // Version string contains separator too
+            String[] fields = props.getProperty(javaHome).split(String.valueOf(SEPARATOR), 4);
+            if (fields.length != 4) {
+                continue;
+            }
+            try {
+                entries.put(javaHome, new Entry(Long.parseLong(fields[0]),
+                        Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]));
+            } catch (NumberFormatException nfe) {
+                // Ignore malformed entry
+            }
+        }
+    }
+
+    /**
+     * Store all cache entries.
+     */
+    private static synchronized void save() {
+        final String METHOD = "save";
+        Properties props = new Properties();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            props.setProperty(entry.getKey(), new StringBuilder()
+                    .append(value.releaseModified).append(SEPARATOR)
+                    .append(value.javaModified).append(SEPARATOR)
+                    .append(value.resolveTime).append(SEPARATOR)
+                    .append(value.version).toString());
+        }
+        File file = new File(GlassFishToolsConfig.getCacheDirectory(), FILE_NAME);
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (OutputStream out = new FileOutputStream(temp)) {
+                props.store(out, null);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ioe) {
+            LOGGER.log(Level.INFO, METHOD, "failed", new Object[] {
+                    file.getAbsolutePath(), ioe.getLocalizedMessage() });
+        }
+    }
+
+}
@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 
 import org.eclipse.payara.tools.sdk.PayaraIdeException;
@@ -141,6 +142,8 @@ public class NetUtils {
     /**
      * Finds out if server is running on remote host by connecting to remote host and port.
      * <p/>
+     * Connection is established by {@link PortProbe} selector thread.
+     * <p/>
      *
      * @param host Server host.
      * @param port Server port.
@@ -150,26 +153,17 @@ public class NetUtils {
      */
     public static boolean isPortListeningRemote(final String host,
             final int port, final int timeout) {
-        final String METHOD = "isPortListeningRemote";
         if (null == host) {
             return false;
         }
-        Socket socket = null;
         try {
-            socket = new Socket();
-            socket.connect(new InetSocketAddress(host, port), timeout);
+            PortProbe.connect(new InetSocketAddress(host, port), timeout).get();
             return true;
-        } catch (IOException ex) {
+        } catch (ExecutionException ee) {
+            return false;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
             return false;
-        } finally {
-            if (socket != null) {
-                try {
-                    socket.close();
-                } catch (IOException ioe) {
-                    LOGGER.log(Level.INFO, METHOD,
-                            "closeError", ioe.getLocalizedMessage());
-                }
-            }
         }
     }
 
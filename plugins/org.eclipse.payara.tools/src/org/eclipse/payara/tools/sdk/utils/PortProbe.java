@@ -0,0 +1,417 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.sdk.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+
+import org.eclipse.payara.tools.sdk.logging.Logger;
+
+/**
+ * Non blocking TCP port liveness checks.
+ * <p/>
+ * All connection attempts are multiplexed by single selector thread so unreachable hosts do not
+ * block caller threads until connect timeout expires. Each attempt has its own timeout. Results are
+ * passed to callers as <code>CompletableFuture</code> instances completed in selector thread, so
+ * callers shall not run long actions in completion handlers without supplying their own executor.
+ * <p/>
+ * Connection latency histogram is kept for every probed <code>host:port</code> target.
+ * <p/>
+ */
+public final class PortProbe {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Connection latency histogram of single target.
+     */
+    public static final class Histogram {
+
+        ////////////////////////////////////////////////////////////////////////
+        // Instance attributes //
+        ////////////////////////////////////////////////////////////////////////
+
+        /** Successful connections count in each latency bucket. */
+        private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+
+        /** Number of refused or otherwise failed connection attempts. */
+        private final AtomicLong failures = new AtomicLong();
+
+        /** Number of timed out connection attempts. */
+        private final AtomicLong timeouts = new AtomicLong();
+
+        ////////////////////////////////////////////////////////////////////////
+        // Getters //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Get latency buckets upper bounds.
+         * <p/>
+         * Last bucket of {@link #getCounts()} contains latencies above the last bound.
+         * <p/>
+         *
+         * @return Latency buckets upper bounds [ms].
+         */
+        public long[] getBounds() {
+            return BOUNDS.clone();
+        }
+
+        /**
+         * Get successful connections count in each latency bucket.
+         * <p/>
+         *
+         * @return Snapshot of successful connections count in each latency bucket.
+         */
+        public long[] getCounts() {
+            long[] snapshot = new long[counts.length()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = counts.get(i);
+            }
+            return snapshot;
+        }
+
+        /**
+         * Get number of refused or otherwise failed connection attempts.
+         * <p/>
+         *
+         * @return Number of failed connection attempts.
+         */
+        public long getFailures() {
+            return failures.get();
+        }
+
+        /**
+         * Get number of timed out connection attempts.
+         * <p/>
+         *
+         * @return Number of timed out connection attempts.
+         */
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        ////////////////////////////////////////////////////////////////////////
+        // Methods //
+        ////////////////////////////////////////////////////////////////////////
+
+        /**
+         * Record successful connection latency.
+         * <p/>
+         *
+         * @param latency Connection latency [ns].
+         */
+        private void record(final long latency) {
+            long ms = TimeUnit.NANOSECONDS.toMillis(latency);
+            int i = 0;
+            while (i < BOUNDS.length && ms > BOUNDS[i]) {
+                i++;
+            }
+            counts.incrementAndGet(i);
+        }
+
+    }
+
+    /**
+     * Single connection attempt.
+     */
+    private static final class Probe {
+
+        /** Channel being connected. */
+        private final SocketChannel channel;
+
+        /** Connection attempt start time [ns]. */
+        private final long start;
+
+        /** Connection attempt deadline [ns] or <code>0</code> when there is no timeout. */
+        private final long deadline;
+
+        /** Target latency histogram. */
+        private final Histogram histogram;
+
+        /** Connection attempt result. */
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        /**
+         * Creates an instance of single connection attempt.
+         * <p/>
+         *
+         * @param channel Channel being connected.
+         * @param timeout Connection timeout [ms], <code>0</code> means no timeout.
+         * @param histogram Target latency histogram.
+         */
+        private Probe(final SocketChannel channel, final int timeout, final Histogram histogram) {
+            this.channel = channel;
+            this.start = System.nanoTime();
+            this.deadline = timeout > 0 ? start + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Close channel and complete connection attempt as successful.
+         */
+        private void succeed() {
+            long latency = System.nanoTime() - start;
+            close();
+            histogram.record(latency);
+            result.complete(latency);
+        }
+
+        /**
+         * Close channel and complete connection attempt as failed.
+         * <p/>
+         *
+         * @param ex Failure cause.
+         */
+        private void fail(final IOException ex) {
+            close();
+            if (ex instanceof SocketTimeoutException) {
+                histogram.timeouts.incrementAndGet();
+            } else {
+                histogram.failures.incrementAndGet();
+            }
+            result.completeExceptionally(ex);
+        }
+
+        /**
+         * Close channel and handle <code>IOException</code> that could be thrown.
+         */
+        private void close() {
+            final String METHOD = "close";
+            try {
+                channel.close();
+            } catch (IOException ioe) {
+                LOGGER.log(Level.INFO, METHOD, "failed", ioe.getLocalizedMessage());
+            }
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(PortProbe.class);
+
+    /** Name of selector thread. */
+    private static final String THREAD_NAME = "GlassFish Port Probe";
+
+    /** Latency histogram buckets upper bounds [ms]. */
+    private static final long[] BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+
+    /** Connection attempts waiting for registration in selector. */
+    private static final Queue<Probe> pending = new ConcurrentLinkedQueue<>();
+
+    /** Latency histograms mapped to <code>host:port</code> targets. */
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /** Selector of pending connections, created with selector thread. */
+    private static Selector selector;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Start connection attempt to given address.
+     * <p/>
+     * Returned future is completed with connection latency [ns] when connection was established or
+     * exceptionally with <code>IOException</code> when connection failed. Timeout is reported as
+     * <code>SocketTimeoutException</code>.
+     * <p/>
+     *
+     * @param address Target address.
+     * @param timeout Connection timeout [ms], <code>0</code> means no timeout.
+     * @return Connection attempt result.
+     */
+    public static CompletableFuture<Long> connect(final InetSocketAddress address, final int timeout) {
+        Histogram histogram = histogram(address.getHostString(), address.getPort());
+        if (address.isUnresolved()) {
+            histogram.failures.incrementAndGet();
+            CompletableFuture<Long> result = new CompletableFuture<>();
+            result.completeExceptionally(new UnknownHostException(address.getHostString()));
+            return result;
+        }
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            Probe probe = new Probe(channel, timeout, histogram);
+            if (channel.connect(address)) {
+                probe.succeed();
+            } else {
+                pending.add(probe);
+                selector().wakeup();
+            }
+            return probe.result;
+        } catch (IOException ioe) {
+            if (channel != null) {
+                new Probe(channel, timeout, histogram).fail(ioe);
+            } else {
+                histogram.failures.incrementAndGet();
+            }
+            CompletableFuture<Long> result = new CompletableFuture<>();
+            result.completeExceptionally(ioe);
+            return result;
+        }
+    }
+
+    /**
+     * Get latency histogram of given target. Histogram is created when it does not exist.
+     * <p/>
+     *
+     * @param host Target host.
+     * @param port Target port.
+     * @return Latency histogram of given target.
+     */
+    public static Histogram histogram(final String host, final int port) {
+        return histograms.computeIfAbsent(host + ':' + port, key -> new Histogram());
+    }
+
+    /**
+     * Get latency histograms of all probed targets.
+     * <p/>
+     *
+     * @return Snapshot of latency histograms mapped to <code>host:port</code> targets.
+     */
+    public static Map<String, Histogram> histograms() {
+        return new HashMap<>(histograms);
+    }
+
+    /**
+     * Get selector of pending connections. Selector thread is started on first access.
+     * <p/>
+     *
+     * @return Selector of pending connections.
+     * @throws IOException when selector could not be opened.
+     */
+    private static synchronized Selector selector() throws IOException {
+        if (selector == null) {
+            selector = Selector.open();
+            Thread thread = new Thread(PortProbe::select, THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return selector;
+    }
+
+    /**
+     * Selector thread main loop.
+     */
+    private static void select() {
+        final String METHOD = "select";
+        final Selector selector;
+        synchronized (PortProbe.class) {
+            selector = PortProbe.selector;
+        }
+        while (true) {
+            try {
+                register(selector);
+                long wait = expire(selector);
+                if (wait > 0) {
+                    selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait)));
+                } else {
+                    selector.select();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Probe probe = (Probe) key.attachment();
+                    try {
+                        if (probe.channel.finishConnect()) {
+                            probe.succeed();
+                        }
+                    } catch (IOException ioe) {
+                        probe.fail(ioe);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                LOGGER.log(Level.WARNING, METHOD, "failed", ex.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Register pending connection attempts in selector.
+     * <p/>
+     *
+     * @param selector Selector of pending connections.
+     */
+    private static void register(final Selector selector) {
+        Probe probe;
+        while ((probe = pending.poll()) != null) {
+            try {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            } catch (IOException ioe) {
+                probe.fail(ioe);
+            }
+        }
+    }
+
+    /**
+     * Fail timed out connection attempts and drop attempts canceled by callers.
+     * <p/>
+     *
+     * @param selector Selector of pending connections.
+     * @return Time to the nearest deadline [ns] or <code>0</code> when there is no deadline.
+     */
+    private static long expire(final Selector selector) {
+        long now = System.nanoTime();
+        long wait = 0;
+        for (SelectionKey key : selector.keys()) {
+            Probe probe = (Probe) key.attachment();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (probe.result.isDone()) {
+                probe.close();
+            } else if (probe.deadline != 0) {
+                long left = probe.deadline - now;
+                if (left <= 0) {
+                    probe.fail(new SocketTimeoutException("connect timed out"));
+                } else if (wait == 0 || left < wait) {
+                    wait = left;
+                }
+            }
+        }
+        return wait;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Do not instantiate this class.
+     */
+    private PortProbe() {
+        throw new UnsupportedOperationException();
+    }
+
+}
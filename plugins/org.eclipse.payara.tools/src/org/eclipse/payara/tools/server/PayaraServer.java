@@ -142,6 +142,7 @@ public final class PayaraServer extends ServerDelegate implements IURLProvider {
     public static final String ATTR_KEEPSESSIONS = "glassfish.keepSessions"; //$NON-NLS-1$
     public static final String ATTR_JARDEPLOY = "glassfish.jarDeploy"; //$NON-NLS-1$
     public static final String ATTR_USEANONYMOUSCONNECTIONS = "glassfish.useAnonymousConnection"; //$NON-NLS-1$
+    public static final String ATTR_ADMIN_CERT_FINGERPRINT = "glassfish.adminCertificateFingerprint"; //$NON-NLS-1$
 
     private List<PropertyChangeListener> propChangeListeners;
 
@@ -461,6 +462,8 @@ public final class PayaraServer extends ServerDelegate implements IURLProvider {
         final Map<String, HttpData> httpMap = new LinkedHashMap<>();
 
         if (domainXml.exists()) {
+            // Listeners depend on target config name so domain.xml is read in two phases.
+            // It is parsed only once, second phase is served from XmlModelCache.
             TargetConfigNameReader configNameReader = new TargetConfigNameReader();
             readXml(domainXml, configNameReader);
             String configName = configNameReader.getTargetConfigName();
@@ -602,6 +605,18 @@ public final class PayaraServer extends ServerDelegate implements IURLProvider {
         setAttribute(ATTR_ADMINPASS, value);
     }
 
+    /**
+     * SHA-256 fingerprint of the admin listener certificate to trust, or <code>null</code> to trust any
+     * certificate presented by the server.
+     */
+    public String getAdminCertificateFingerprint() {
+        return getAttribute(ATTR_ADMIN_CERT_FINGERPRINT, (String) null);
+    }
+
+    public void setAdminCertificateFingerprint(String value) {
+        setAttribute(ATTR_ADMIN_CERT_FINGERPRINT, value);
+    }
+
     public String computePreserveSessions() {
         if (!getKeepSessions()) {
             return null;
@@ -30,7 +30,22 @@ import static org.eclipse.wst.server.core.IServer.PUBLISH_STATE_NONE;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
@@ -52,6 +67,7 @@ import org.eclipse.payara.tools.server.deploying.PayaraServerBehaviour;
 import org.eclipse.wst.server.core.IModule;
 import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.internal.Server;
+import org.eclipse.wst.server.core.model.IModuleFile;
 import org.eclipse.wst.server.core.model.IModuleFolder;
 import org.eclipse.wst.server.core.model.IModuleResource;
 import org.eclipse.wst.server.core.model.IModuleResourceDelta;
@@ -61,10 +77,35 @@ import org.eclipse.wst.server.core.util.PublishHelper;
 /* 
  * Assemble modules (i.e if a web app depends on a utility lib, we need to create the jar file for this utility and
  * put it in the web-inf/lib area of the web app.
+ *
+ * Parent module content is assembled first by PublishHelper, child modules are then assembled into their own
+ * destinations concurrently on a bounded pool. PublishHelper shares a single copy buffer and is not safe for concurrent
+ * use, so child modules are copied by mirror() instead. Children of a web module nested in an EAR are assembled only
+ * after the web module content was copied.
  */
 @SuppressWarnings("restriction")
 public class AssembleModules {
 
+    private static final String THREAD_NAME = "Payara Module Assembly";
+
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final ExecutorService pool = newPool();
+
+    /*
+     * Assembly of single child module. Dependents are assembled once this child is done.
+     */
+    private static final class Child {
+        private final String name;
+        private final Callable<Boolean> task;
+        private final List<Child> dependents = new ArrayList<>();
+
+        private Child(String name, Callable<Boolean> task) {
+            this.name = name;
+            this.task = task;
+        }
+    }
+
     protected IModule[] modulePath; // Full path of the module. We need the path to get publish state and query
                                     // resource delta, etc
     protected IModule module; // Module to be assembled
@@ -84,14 +125,24 @@ public class AssembleModules {
     }
 
     public IPath assembleWebModule(IProgressMonitor monitor) throws CoreException {
-        IPath parent = assembleRoot;
-        
         if (PUBLISH_STATE_NONE != server.getServer().getModulePublishState(modulePath)) {
             copyModule(module, monitor);
         }
+        childNeedsARedeployment |= assembleChildren(webChildren(monitor), monitor);
+        
+        return assembleRoot;
+    }
 
+    /*
+     * Collect assembly of web module children. Children are written below the web module content, which has to be
+     * assembled first.
+     */
+    private List<Child> webChildren(IProgressMonitor monitor) throws CoreException {
+        IPath parent = assembleRoot;
         IWebModule webModule = (IWebModule) module.loadAdapter(IWebModule.class, monitor);
         IModule[] childModules = webModule.getModules();
+        List<Child> children = new ArrayList<>(childModules.length);
+        String version = null;
         for (IModule childModule : childModules) {
             String uri = webModule.getURI(childModule);
             if (uri == null) { // The bad memories of WTP 1.0
@@ -100,13 +151,21 @@ public class AssembleModules {
             
             IJ2EEModule jeeModule = (IJ2EEModule) childModule.loadAdapter(IJ2EEModule.class, monitor);
             if (jeeModule != null && jeeModule.isBinary()) { // Binary module
-                ProjectModule pm = (ProjectModule) childModule.loadAdapter(ProjectModule.class, null);
-                IModuleResource[] resources = pm.members();
-                publishHelper.publishToPath(resources, parent.append(uri), monitor);
+                children.add(new Child(uri, () -> {
+                    copyBinaryModule(childModule, parent.append(uri));
+                    return false;
+                }));
             } else { // Project module
-                String version = PayaraServerBehaviour.getVersion(server);
+                if (version == null) {
+                    version = PayaraServerBehaviour.getVersion(server);
+                }
                 if (version.indexOf(" 3.1") == -1) {
-                    packModule(childModule, uri, parent);
+                    if (shouldRepackJar(childModule, parent.append(uri))) {
+                        children.add(new Child(uri, () -> {
+                            packModule(childModule, uri, parent);
+                            return false;
+                        }));
+                    }
                 } else {
 
                     if (shouldRepack(childModule)) {
@@ -117,14 +176,100 @@ public class AssembleModules {
 
                         AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri),
                                 server, publishHelper);
-                        childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
-                        assembler.copyModule(childModule, monitor);
+                        children.add(new Child(uri, () -> {
+                            boolean redeploy = assembler.needsARedeployment();
+                            assembler.mirrorModule(childModule, new NullProgressMonitor());
+                            return redeploy;
+                        }));
                     }
                 }
             }
         }
         
-        return parent;
+        return children;
+    }
+
+    private static ExecutorService newPool() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), r -> {
+                    Thread thread = new Thread(r, THREAD_NAME);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /*
+     * Assemble child modules concurrently on the pool. Children are written into distinct destinations and dependents
+     * of a child are started only when the child is done, so no pool thread waits for another. Failures are reported in
+     * child declaration order so the outcome does not depend on scheduling.
+     *
+     * Returns true when any of the children needs a redeployment.
+     */
+    private boolean assembleChildren(List<Child> children, IProgressMonitor monitor) throws CoreException {
+        if (children.isEmpty() || monitor.isCanceled()) {
+            return false;
+        }
+
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (Child child : children) {
+            schedule(child, CompletableFuture.completedFuture(false), futures);
+        }
+
+        boolean redeploy = false;
+        CoreException failure = null;
+        for (Future<Boolean> future : futures) {
+            try {
+                redeploy |= future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new CoreException(new Status(ERROR, PLUGIN_ID, 0, "module assembly interrupted", e));
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof CoreException
+                            ? (CoreException) e.getCause()
+                            : new CoreException(new Status(ERROR, PLUGIN_ID, 0, "unable to assemble module", e.getCause()));
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        
+        return redeploy;
+    }
+
+    /*
+     * Schedule child once the given stage is done, followed by its dependents. Futures are collected depth first, so a
+     * child precedes its dependents. Dependents of a failed child are not assembled and report its failure.
+     */
+    private static void schedule(Child child, CompletableFuture<Boolean> after, List<Future<Boolean>> futures) {
+        CompletableFuture<Boolean> future = after.thenApplyAsync(ignored -> {
+            try {
+                return timed(child.name, child.task);
+            } catch (CoreException e) {
+                throw new CompletionException(e);
+            }
+        }, pool);
+        futures.add(future);
+        for (Child dependent : child.dependents) {
+            schedule(dependent, future, futures);
+        }
+    }
+
+    private static boolean timed(String name, Callable<Boolean> task) throws CoreException {
+        long start = System.currentTimeMillis();
+        try {
+            return task.call();
+        } catch (CoreException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CoreException(new Status(ERROR, PLUGIN_ID, 0, "unable to assemble module " + name, e));
+        } finally {
+            logMessage("AssembleModules assembled " + name + " in " + (System.currentTimeMillis() - start) + " ms");
+        }
     }
 
     public static boolean isModuleType(IModule module, String moduleTypeId) {
@@ -186,6 +331,137 @@ public class AssembleModules {
     protected IPath copyModule(IModule module, IProgressMonitor monitor) throws CoreException {
         ProjectModule pm = (ProjectModule) module.loadAdapter(ProjectModule.class, monitor);
         
+        IPath[] jarPaths = childJarPaths(module, monitor);
+        IStatus[] status = publishHelper.publishSmart(pm.members(), assembleRoot, jarPaths, monitor);
+        if (status != null && status.length > 0) {
+            // no need to emit an error like CoreException(status[0]); just log in the entry
+            // see https://glassfishplugins.dev.java.net/issues/show_bug.cgi?id=268
+            for (IStatus statu : status) {
+                PayaraToolsPlugin.logMessage("warning copying module: " + statu.getMessage());
+            }
+        }
+
+        return assembleRoot;
+    }
+
+    /*
+     * Copy module content like copyModule, without PublishHelper. Used for child modules assembled concurrently.
+     */
+    protected IPath mirrorModule(IModule module, IProgressMonitor monitor) throws CoreException {
+        ProjectModule pm = (ProjectModule) module.loadAdapter(ProjectModule.class, monitor);
+
+        Set<String> ignore = new HashSet<>();
+        IPath[] jarPaths = childJarPaths(module, monitor);
+        if (jarPaths != null) {
+            for (IPath jarPath : jarPaths) {
+                ignore.add(jarPath.makeRelative().toPortableString());
+            }
+        }
+        try {
+            mirror(pm.members(), assembleRoot.toFile(), "", ignore);
+        } catch (IOException e) {
+            throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "unable to assemble module " + module.getName(), e));
+        }
+
+        return assembleRoot;
+    }
+
+    /*
+     * Copy binary module like PublishHelper.publishToPath, a single file is copied to the destination path itself.
+     */
+    private static void copyBinaryModule(IModule module, IPath destination) throws CoreException {
+        IModuleResource[] resources = load(module, ProjectModule.class).members();
+        try {
+            if (resources.length == 1 && resources[0] instanceof IModuleFile) {
+                File source = sourceFile(resources[0]);
+                if (source != null) {
+                    Files.createDirectories(destination.toFile().getParentFile().toPath());
+                    copyFile(source, destination.toFile());
+                }
+            } else {
+                mirror(resources, destination.toFile(), "", Collections.emptySet());
+            }
+        } catch (IOException e) {
+            throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "unable to assemble module " + module.getName(), e));
+        }
+    }
+
+    /*
+     * Copy resources into destination directory. Files are copied when their size or modification time differs, files
+     * not among resources are deleted unless their path relative to the module root is ignored or is a parent of an
+     * ignored path.
+     */
+    private static void mirror(IModuleResource[] resources, File destination, String prefix, Set<String> ignore)
+            throws IOException {
+        if (destination.isFile()) {
+            Files.delete(destination.toPath());
+        }
+        Files.createDirectories(destination.toPath());
+        Set<String> names = new HashSet<>();
+        for (IModuleResource resource : resources) {
+            names.add(resource.getName());
+            File target = new File(destination, resource.getName());
+            if (resource instanceof IModuleFolder) {
+                mirror(((IModuleFolder) resource).members(), target, prefix + resource.getName() + "/", ignore);
+            } else {
+                File source = sourceFile(resource);
+                if (source != null) {
+                    copyFile(source, target);
+                }
+            }
+        }
+        File[] existing = destination.listFiles();
+        if (existing != null) {
+            for (File file : existing) {
+                if (!names.contains(file.getName()) && !ignored(prefix + file.getName(), ignore)) {
+                    delete(file);
+                }
+            }
+        }
+    }
+
+    private static boolean ignored(String path, Set<String> ignore) {
+        for (String ignored : ignore) {
+            if (ignored.equals(path) || ignored.startsWith(path + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static File sourceFile(IModuleResource resource) {
+        IFile file = resource.getAdapter(IFile.class);
+        if (file != null) {
+            IPath location = file.getLocation();
+            return location != null ? location.toFile() : null;
+        }
+        return resource.getAdapter(File.class);
+    }
+
+    private static void copyFile(File source, File target) throws IOException {
+        if (target.isFile() && target.length() == source.length() && target.lastModified() == source.lastModified()) {
+            return;
+        }
+        if (target.isDirectory()) {
+            delete(target);
+        }
+        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+    }
+
+    private static void delete(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /*
+     * Paths of child modules of a web module which are not part of its own content.
+     */
+    private static IPath[] childJarPaths(IModule module, IProgressMonitor monitor) {
         IPath[] jarPaths = null;
         if (module.getModuleType().getId().equals("jst.web")) {
             IWebModule webModule = (IWebModule) module.loadAdapter(IWebModule.class, monitor);
@@ -201,16 +477,8 @@ public class AssembleModules {
             }
 
         }
-        IStatus[] status = publishHelper.publishSmart(pm.members(), assembleRoot, jarPaths, monitor);
-        if (status != null && status.length > 0) {
-            // no need to emit an error like CoreException(status[0]); just log in the entry
-            // see https://glassfishplugins.dev.java.net/issues/show_bug.cgi?id=268
-            for (IStatus statu : status) {
-                PayaraToolsPlugin.logMessage("warning copying module: " + statu.getMessage());
-            }
-        }
 
-        return assembleRoot;
+        return jarPaths;
     }
 
     protected IPath copyEarModule(IModule module, IProgressMonitor monitor) throws CoreException {
@@ -319,6 +587,20 @@ public class AssembleModules {
         return repack;
     }
 
+    /*
+     * Checks if utility jar of a web module has to be packed again. Jar content depends on the child module only, so
+     * unlike shouldRepack, a change of the web module itself does not repack it. Repacking an unchanged jar would give
+     * it new timestamps and so a new archive entry.
+     */
+    private boolean shouldRepackJar(IModule lmodule, IPath jar) {
+        IModule[] childModulePath = new IModule[modulePath.length + 1];
+        arraycopy(modulePath, 0, childModulePath, 0, modulePath.length);
+        childModulePath[childModulePath.length - 1] = lmodule;
+
+        return !jar.toFile().isFile()
+                || PUBLISH_STATE_NONE != server.getServer().getModulePublishState(childModulePath);
+    }
+
     /*
      * Returns true is a deploy command has to be run. for example a simple JSP change does not need a
      * redeployment as the file is already been copied by the assembly in the correct directory
@@ -408,6 +690,7 @@ public class AssembleModules {
                 monitor);
         IModule[] childModules = earModule.getModules();
         logMessage("assembleDirDeployedEARModule childModules.length=" + childModules.length);
+        List<Child> children = new ArrayList<>(childModules.length);
         for (IModule childModule2 : childModules) {
 
             IModule childModule = childModule2;
@@ -418,9 +701,11 @@ public class AssembleModules {
             
             IJ2EEModule jeeModule = (IJ2EEModule) childModule.loadAdapter(IJ2EEModule.class, monitor);
             if (jeeModule != null && jeeModule.isBinary()) {// Binary module just copy
-                publishHelper.publishToPath(
-                    load(childModule, ProjectModule.class).members(), 
-                    parent.append(uri), monitor);
+                String binaryUri = uri;
+                children.add(new Child(binaryUri, () -> {
+                    copyBinaryModule(childModule, parent.append(binaryUri));
+                    return false;
+                }));
                 
                 continue; // Done! no need to go further
             }
@@ -441,20 +726,30 @@ public class AssembleModules {
                 arraycopy(modulePath, 0, childModulePath, 0, modulePath.length);
                 childModulePath[childModulePath.length - 1] = childModule;
 
+                AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri), server,
+                        publishHelper);
+                // Children of web module are assembled once the web module content was copied
                 if (childModule.getModuleType().getId().equals("jst.web")) {//$NON-NLS-1$
-                    AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri), server,
-                            publishHelper);
-                    childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
-                    assembler.assembleWebModule(new NullProgressMonitor());
+                    Child web = new Child(uri, () -> {
+                        boolean redeploy = assembler.needsARedeployment();
+                        if (PUBLISH_STATE_NONE != server.getServer().getModulePublishState(childModulePath)) {
+                            assembler.mirrorModule(childModule, new NullProgressMonitor());
+                        }
+                        return redeploy;
+                    });
+                    web.dependents.addAll(assembler.webChildren(monitor));
+                    children.add(web);
                 } else {
-                    AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri), server,
-                            publishHelper);
-                    childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
-                    assembler.copyModule(childModule, monitor);
+                    children.add(new Child(uri, () -> {
+                        boolean redeploy = assembler.needsARedeployment();
+                        assembler.mirrorModule(childModule, new NullProgressMonitor());
+                        return redeploy;
+                    }));
                 }
 
             }
         }
+        childNeedsARedeployment |= assembleChildren(children, monitor);
         
         return parent;
 
@@ -0,0 +1,254 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.server.archives;
+
+import static org.eclipse.core.runtime.IStatus.ERROR;
+import static org.eclipse.payara.tools.PayaraToolsPlugin.SYMBOLIC_NAME;
+import static org.eclipse.payara.tools.PayaraToolsPlugin.logMessage;
+import static org.eclipse.payara.tools.server.archives.AssembleModules.isModuleType;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.payara.tools.server.PayaraServer;
+import org.eclipse.wst.server.core.IModule;
+import org.eclipse.wst.server.core.util.PublishHelper;
+
+/**
+ * Archive of module kept between publishes and updated incrementally.
+ * <p/>
+ * Module content is assembled into staging directory by {@link AssembleModules}, which copies only
+ * resources changed since previous publish. Staging directory is compared with archive entries (name,
+ * size and modification time), which are read from archive central directory. Only added, changed
+ * and removed entries are then updated through the ZIP file system provider, which copies compressed
+ * data of unchanged entries as they are. Unchanged module is published without writing any file.
+ * <p/>
+ * Enterprise applications are exported by {@link ExportJavaEEArchive} because their child modules
+ * are assembled in exploded form which does not map to archive layout.
+ */
+public class IncrementalArchive {
+
+    /** Precision of modification time stored in ZIP entries [ms]. */
+    private static final long ZIP_TIME_PRECISION = 2000;
+
+    /**
+     * Build or update archive of given module.
+     *
+     * @param module Module path, last segment is the module to be archived.
+     * @param server Server the module is published to.
+     * @param cacheRoot Directory where staging directories and archives are kept.
+     * @param monitor Progress monitor.
+     * @return Archive of given module.
+     */
+    public static File build(IModule[] module, PayaraServer server, IPath cacheRoot, IProgressMonitor monitor)
+            throws CoreException, ExecutionException {
+        IModule root = module[module.length - 1];
+        if (isModuleType(root, "jst.ear")) {
+            return ExportJavaEEArchive.export(root, monitor);
+        }
+
+        String name = root.getProject() != null ? root.getProject().getName() : root.getName();
+        IPath staging = cacheRoot.append(name);
+        File archive = cacheRoot.append(name + (isModuleType(root, "jst.web") ? ".war" : ".jar")).toFile();
+        boolean fresh = !staging.toFile().isDirectory();
+
+        AssembleModules assembler = new AssembleModules(module, staging, server,
+                new PublishHelper(cacheRoot.append(".tmp").toFile()));
+        if (isModuleType(root, "jst.web")) {
+            if (fresh) {
+                assembler.copyModule(root, monitor);
+            }
+            assembler.assembleWebModule(monitor);
+        } else {
+            assembler.assembleNonWebOrNonEARModule(monitor);
+        }
+
+        Map<String, File> files = new TreeMap<>(IncrementalArchive::compareEntries);
+        collect(staging.toFile(), "", files);
+        try {
+            update(archive, files);
+        } catch (IOException e) {
+            throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "unable to write archive " + archive, e));
+        }
+        return archive;
+    }
+
+    /**
+     * Order archive entries so <code>META-INF/</code> and manifest are stored first as expected by
+     * <code>JarInputStream</code>, followed by other <code>META-INF/</code> entries and the rest.
+     */
+    private static int compareEntries(String entry1, String entry2) {
+        int rank1 = rank(entry1);
+        int rank2 = rank(entry2);
+        if (rank1 != rank2) {
+            return Integer.compare(rank1, rank2);
+        }
+        return entry1.compareTo(entry2);
+    }
+
+    private static int rank(String entry) {
+        if (entry.equals("META-INF/")) {
+            return 0;
+        }
+        if (entry.equalsIgnoreCase(JarFile.MANIFEST_NAME)) {
+            return 1;
+        }
+        return entry.startsWith("META-INF/") ? 2 : 3;
+    }
+
+    /**
+     * Collect staging directory content mapped to archive entry names.
+     */
+    private static void collect(File directory, String prefix, Map<String, File> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                String entry = prefix + child.getName() + "/";
+                files.put(entry, child);
+                collect(child, entry, files);
+            } else {
+                files.put(prefix + child.getName(), child);
+            }
+        }
+    }
+
+    /**
+     * Read archive entries in stored order. Returns empty map when archive does not exist or is not
+     * readable, so it is written from scratch.
+     */
+    private static Map<String, ZipEntry> entries(File archive) {
+        Map<String, ZipEntry> entries = new LinkedHashMap<>();
+        if (!archive.isFile()) {
+            return entries;
+        }
+        try (ZipFile zip = new ZipFile(archive)) {
+            Enumeration<? extends ZipEntry> e = zip.entries();
+            while (e.hasMoreElements()) {
+                ZipEntry entry = e.nextElement();
+                entries.put(entry.getName(), entry);
+            }
+        } catch (IOException e) {
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Check whether <code>META-INF/</code> and manifest are the first archive entries. Entries updated
+     * in place keep their position, so archive which does not start with them has to be written from
+     * scratch. Their mutual order is not checked, newer ZIP file system providers store manifest first
+     * and <code>JarInputStream</code> accepts both orders.
+     */
+    private static boolean leadingEntriesMatch(Map<String, ZipEntry> entries, Map<String, File> files) {
+        List<String> expected = new ArrayList<>(2);
+        for (String name : files.keySet()) {
+            if (rank(name) > 1) {
+                break;
+            }
+            expected.add(name);
+        }
+        List<String> stored = new ArrayList<>(entries.keySet());
+        return stored.size() >= expected.size()
+                && new HashSet<>(stored.subList(0, expected.size())).equals(new HashSet<>(expected));
+    }
+
+    private static boolean changed(ZipEntry entry, File file) {
+        if (entry == null) {
+            return true;
+        }
+        return !entry.isDirectory()
+                && (entry.getSize() != file.length()
+                        || Math.abs(entry.getTime() - file.lastModified()) > ZIP_TIME_PRECISION);
+    }
+
+    /**
+     * Update archive entries which differ from staging directory content. ZIP file system writes
+     * updated archive into temporary file which replaces archive when closed. Entries left stale by
+     * failed update differ from staging directory, so they are written again by next update.
+     */
+    private static void update(File archive, Map<String, File> files) throws IOException {
+        long start = System.currentTimeMillis();
+        Map<String, ZipEntry> entries = entries(archive);
+        if (!entries.isEmpty() && !leadingEntriesMatch(entries, files)) {
+            entries.clear();
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (String name : entries.keySet()) {
+            if (!files.containsKey(name)) {
+                removed.add(name);
+            }
+        }
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, File> file : files.entrySet()) {
+            if (changed(entries.get(file.getKey()), file.getValue())) {
+                changed.add(file.getKey());
+            }
+        }
+        if (removed.isEmpty() && changed.isEmpty()) {
+            logMessage("Archive " + archive + " is up to date");
+            return;
+        }
+
+        if (entries.isEmpty()) {
+            Files.deleteIfExists(archive.toPath());
+        }
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + archive.toURI()),
+                Collections.singletonMap("create", "true"))) {
+            // Children are removed before their directories
+            removed.sort(Collections.reverseOrder());
+            for (String name : removed) {
+                Files.deleteIfExists(zip.getPath(name));
+            }
+            for (String name : changed) {
+                File file = files.get(name);
+                Path path = zip.getPath(name);
+                if (file.isDirectory()) {
+                    Files.createDirectories(path);
+                } else {
+                    Files.copy(file.toPath(), path, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.setLastModifiedTime(path, FileTime.fromMillis(file.lastModified()));
+            }
+        }
+        logMessage("Archive " + archive + " updated in " + (System.currentTimeMillis() - start) + " ms, "
+                + changed.size() + " entries written, " + removed.size() + " entries removed, "
+                + (files.size() - changed.size()) + " entries kept");
+    }
+
+}
@@ -47,7 +47,6 @@ import static org.eclipse.payara.tools.server.PayaraServer.DEFAULT_DEBUG_PORT;
 import static org.eclipse.payara.tools.server.ServerStatus.RUNNING_DOMAIN_MATCHING;
 import static org.eclipse.payara.tools.server.ServerStatus.STOPPED_NOT_LISTENING;
 import static org.eclipse.payara.tools.server.archives.AssembleModules.isModuleType;
-import static org.eclipse.payara.tools.server.archives.ExportJavaEEArchive.export;
 import static org.eclipse.payara.tools.utils.ResourceUtils.RESOURCE_FILE_NAME;
 import static org.eclipse.payara.tools.utils.ResourceUtils.checkUpdateServerResources;
 import static org.eclipse.payara.tools.utils.Utils.isEmpty;
@@ -67,18 +66,17 @@ import static org.eclipse.wst.server.core.internal.ProgressUtil.getMonitorFor;
 import static org.eclipse.wst.server.core.util.PublishHelper.deleteDirectory;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.eclipse.core.resources.IProject;
@@ -120,11 +118,13 @@ import org.eclipse.payara.tools.server.PayaraRuntime;
 import org.eclipse.payara.tools.server.PayaraServer;
 import org.eclipse.payara.tools.server.ServerStatus;
 import org.eclipse.payara.tools.server.archives.AssembleModules;
+import org.eclipse.payara.tools.server.archives.IncrementalArchive;
 import org.eclipse.payara.tools.server.starting.PayaraServerLaunchDelegate;
 import org.eclipse.payara.tools.server.starting.PayaraStartJob;
 import org.eclipse.payara.tools.server.starting.StartupArgsImpl;
 import org.eclipse.payara.tools.utils.ResourceUtils;
 import org.eclipse.wst.server.core.IModule;
+import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.internal.DeletedModule;
 import org.eclipse.wst.server.core.internal.Server;
 import org.eclipse.wst.server.core.model.ServerBehaviourDelegate;
@@ -155,6 +155,30 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 
     private static final ExecutorService asyncJobsService = Executors.newCachedThreadPool();
 
+    /**
+     * Versions of running servers mapped to server IDs, filled by status monitor and dropped when server
+     * stops or is removed.
+     */
+    private static final Map<String, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    /** Number of remote version commands issued for each server ID. */
+    private static final Map<String, AtomicInteger> versionCalls = new ConcurrentHashMap<>();
+
+    /** Number of remote version commands issued before current publish started. */
+    private int versionCallsAtPublishStart;
+
+    private PublishState publishState;
+
+    private static final class CachedVersion {
+        private final String endpoint;
+        private final String version;
+
+        private CachedVersion(String endpoint, String version) {
+            this.endpoint = endpoint;
+            this.version = version;
+        }
+    }
+
     private static JavaRemoteApplicationLaunchConfigurationDelegate REMOTE_JAVA_APP_LAUNCH_DELEGATE = new JavaRemoteApplicationLaunchConfigurationDelegate();
 
     public PayaraServerBehaviour() {
@@ -166,8 +190,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
         super.initialize(monitor);
         logMessage("in Behaviour initialize for " + getPayaraServerDelegate().getName());
 
-        statusMonitor = ServerStatusMonitor.getInstance(getPayaraServerDelegate(), this);
-        statusMonitor.start();
+        statusMonitor = ServerStatusMonitor.subscribe(getPayaraServerDelegate(), this);
     }
 
     // ### Life-cycle methods called by Eclipse WTP
@@ -270,8 +293,19 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
         }
     }
 
+    @Override
+    protected void publishStart(IProgressMonitor monitor) throws CoreException {
+        super.publishStart(monitor);
+        versionCallsAtPublishStart = getVersionCalls(getPayaraServerDelegate());
+    }
+
     @Override
     protected void publishFinish(IProgressMonitor monitor) throws CoreException {
+        logMessage("publish of " + getPayaraServerDelegate().getName() + " issued "
+                + (getVersionCalls(getPayaraServerDelegate()) - versionCallsAtPublishStart)
+                + " remote version calls");
+        getPublishState().flush();
+        
         boolean allpublished = true;
         
         for (IModule module : getServer().getModules()) {
@@ -303,7 +337,10 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
     @Override
     public void dispose() {
         super.dispose();
-        statusMonitor.stop();
+        statusMonitor.unsubscribe(this);
+        if (publishState != null) {
+            publishState.flush();
+        }
         logMessage("in Behaviour dispose for " + getPayaraServerDelegate().getName());
     }
     
@@ -326,7 +363,53 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
         return statusMonitor.getServerStatus(forceUpdate);
     }
 
+    /**
+     * Get version of given server. Version is queried remotely only when it is not cached yet or the
+     * server admin host or port changed, the cache is kept up to date by {@link ServerStatusMonitor}.
+     */
     public static String getVersion(PayaraServer server) throws PayaraIdeException {
+        String id = server.getServer().getId();
+        String endpoint = server.getHost() + ":" + server.getAdminPort();
+        CachedVersion cached = versions.get(id);
+        if (cached != null && cached.endpoint.equals(endpoint)) {
+            return cached.version;
+        }
+
+        String version = fetchVersion(server);
+        if (version != null) {
+            versions.put(id, new CachedVersion(endpoint, version));
+        } else {
+            versions.remove(id);
+        }
+        
+        return version;
+    }
+
+    /**
+     * Drop cached version of given server, called when server stops.
+     */
+    public static void invalidateVersion(PayaraServer server) {
+        versions.remove(server.getServer().getId());
+    }
+
+    /**
+     * Drop cached version and version statistics of removed server.
+     */
+    public static void serverRemoved(IServer server) {
+        versions.remove(server.getId());
+        versionCalls.remove(server.getId());
+    }
+
+    /**
+     * Get number of remote version commands issued for given server.
+     */
+    public static int getVersionCalls(PayaraServer server) {
+        AtomicInteger calls = versionCalls.get(server.getServer().getId());
+        return calls == null ? 0 : calls.get();
+    }
+
+    private static String fetchVersion(PayaraServer server) throws PayaraIdeException {
+        versionCalls.computeIfAbsent(server.getServer().getId(), key -> new AtomicInteger()).incrementAndGet();
         Future<ResultString> future = ServerAdmin.exec(server, new CommandVersion());
         
         try {
@@ -343,7 +426,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
     }
     
     public String getModuleDeployPath(IModule module) {
-    	return (String) loadPublishProperties().get(module.getId());
+    	return getPublishState().get(module.getId());
     }
 
     public void undeploy(String moduleName, IProgressMonitor monitor) throws CoreException {
@@ -539,53 +622,39 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
             return;
         }
 
-        Properties publishProperties = loadPublishProperties();
+        PublishState publishState = getPublishState();
 
         boolean isRemote = getPayaraServerDelegate().isRemote();
         boolean isJarDeploy = getPayaraServerDelegate().getJarDeploy();
         
         if ((!isRemote && !isJarDeploy)) {
-            publishDeployedDirectory(kind, deltaKind, publishProperties, module, monitor);
+            publishDeployedDirectory(kind, deltaKind, publishState, module, monitor);
         } else {
-            publishJarFile(kind, deltaKind, publishProperties, module, monitor);
+            publishJarFile(kind, deltaKind, publishState, module, monitor);
 
         }
 
         setModulePublishState(module, PUBLISH_STATE_NONE);
-        savePublishProperties(publishProperties);
     }
     
-    private Properties loadPublishProperties() {
-    	Properties publishProperties = new Properties();
-        
-        try (FileInputStream fis = new FileInputStream(getPublishPropertiesFile())) {
-            publishProperties.load(fis);
-        } catch (Exception e) {
-            // Ignore
+    /*
+     * Publish state is loaded once and written back by publishFinish
+     */
+    private synchronized PublishState getPublishState() {
+        if (publishState == null) {
+            publishState = new PublishState(getTempDirectory().append("publish.txt").toFile());
         }
         
-        return publishProperties;
-    }
-    
-    private void savePublishProperties(Properties publishProperties) {
-        try (FileOutputStream fos = new FileOutputStream(getPublishPropertiesFile())) {
-            publishProperties.store(fos, "GlassFish 3");
-        } catch (Exception e) {
-            logError("Error in PUBLISH_STATE_NONE", e);
-        }
-    }
-    
-    private File getPublishPropertiesFile() {
-        return getTempDirectory().append("publish.txt").toFile();
+        return publishState;
     }
 
-    private void publishDeployedDirectory(int kind, int deltaKind, Properties publishProperties, IModule module[], IProgressMonitor monitor) throws CoreException {
+    private void publishDeployedDirectory(int kind, int deltaKind, PublishState publishState, IModule module[], IProgressMonitor monitor) throws CoreException {
       
         if (deltaKind == REMOVED) {
         	
         	// Undeploy
         	
-            String publishPath = (String) publishProperties.get(module[0].getId());
+            String publishPath = publishState.get(module[0].getId());
             logMessage("REMOVED in publishPath" + publishPath);
             
             try {
@@ -608,6 +677,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
                     throw new CoreException(new Status(WARNING, SYMBOLIC_NAME, 0, "cannot remove " + module[0].getName(), e));
                 }
             }
+            publishState.remove(module[0].getId());
         } else {
         	
         	// Deploy
@@ -651,7 +721,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
             }
 
             // deploy the sun resource file if there is one in path:
-            registerSunResource(module, publishProperties, path);
+            registerSunResource(module, publishState, path);
 
             // BUG NEED ALSO to test if it has been deployed
             // once...isDeployed()
@@ -690,7 +760,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
         }
     }
 
-    private void publishJarFile(int kind, int deltaKind, Properties p, IModule[] module, IProgressMonitor monitor) throws CoreException {
+    private void publishJarFile(int kind, int deltaKind, PublishState p, IModule[] module, IProgressMonitor monitor) throws CoreException {
         // first try to see if we need to undeploy:
 
         if (deltaKind == REMOVED) {
@@ -701,8 +771,12 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
         } else {
 
             try {
-                File archivePath = export(module[0], monitor);
-                logMessage("Deploy archive " + archivePath.getAbsolutePath());
+                long exportStart = System.currentTimeMillis();
+                File archivePath = IncrementalArchive.build(module, getPayaraServerDelegate(),
+                        getTempDirectory().append("archives"), monitor);
+                long uploadStart = System.currentTimeMillis();
+                logMessage("Deploy archive " + archivePath.getAbsolutePath() + ", export took "
+                        + (uploadStart - exportStart) + " ms");
 
                 String name = simplifyModuleID(module[0].getName());
                 String contextRoot = null;
@@ -723,6 +797,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
                             })
                             .get();
 
+                    logMessage("Deploy of " + name + " took " + (System.currentTimeMillis() - uploadStart) + " ms");
                 } catch (Exception ex) {
                     logError("deploy is failing=", ex);
                     throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "cannot Deploy " + name, ex));
@@ -733,7 +808,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
         }
     }
 
-    private void registerSunResource(IModule module[], Properties properties, IPath path) throws CoreException {
+    private void registerSunResource(IModule module[], PublishState publishState, IPath path) throws CoreException {
         // Get correct location for sun-resources.xml
         IProject project = module[0].getProject();
         String location = ResourceUtils.getRuntimeResourceLocation(project);
@@ -762,7 +837,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
             }
         }
 
-        properties.put(module[0].getId(), path.toOSString());
+        publishState.put(module[0].getId(), path.toOSString());
     }
 
     private void undeploy(IModule module[]) throws CoreException {
@@ -889,6 +964,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
      */
     private void stopServer(boolean stopLogging) {
         PayaraServer server = getPayaraServerDelegate();
+        invalidateVersion(server);
 
         // Shouldn't allow stop remote server
         if (server.isRemote()) {
@@ -0,0 +1,170 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.server.deploying;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.eclipse.payara.tools.PayaraToolsPlugin.logError;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Publish state of one server, i.e. deploy paths of published modules.
+ * <p/>
+ * State is read from <code>publish.txt</code> once and kept in memory. Every change is appended to
+ * journal file next to it before it is applied, and {@link #flush()} replaces the state file
+ * atomically and removes the journal. Changes made after last flush are therefore recovered from
+ * the journal when the IDE crashed in the middle of publish.
+ */
+final class PublishState {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final File file;
+    private final File journal;
+    private final Properties properties = new Properties();
+
+    private DataOutputStream journalOut;
+    private boolean dirty;
+
+    PublishState(File file) {
+        this.file = file;
+        this.journal = new File(file.getPath() + ".log");
+        load();
+    }
+
+    synchronized String get(String key) {
+        return properties.getProperty(key);
+    }
+
+    synchronized void put(String key, String value) {
+        if (Objects.equals(value, properties.getProperty(key))) {
+            return;
+        }
+        append(PUT, key, value);
+        properties.setProperty(key, value);
+        dirty = true;
+    }
+
+    synchronized void remove(String key) {
+        if (!properties.containsKey(key)) {
+            return;
+        }
+        append(REMOVE, key, null);
+        properties.remove(key);
+        dirty = true;
+    }
+
+    /**
+     * Write state file when state changed since last flush and drop the journal.
+     */
+    synchronized void flush() {
+        closeJournal();
+        if (!dirty) {
+            return;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (FileOutputStream fos = new FileOutputStream(temp)) {
+                properties.store(fos, "GlassFish 3");
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), REPLACE_EXISTING);
+            }
+            Files.deleteIfExists(journal.toPath());
+            dirty = false;
+        } catch (IOException e) {
+            logError("Cannot write publish state " + file, e);
+        }
+    }
+
+    private void load() {
+        if (file.isFile()) {
+            try (FileInputStream fis = new FileInputStream(file)) {
+                properties.load(fis);
+            } catch (IOException e) {
+                logError("Cannot read publish state " + file, e);
+            }
+        }
+        if (journal.isFile()) {
+            // Start new journal so records are not appended after torn record
+            replay();
+            dirty = true;
+            flush();
+        }
+    }
+
+    /**
+     * Apply changes recorded in journal, incomplete last record is ignored.
+     */
+    private void replay() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)))) {
+            while (true) {
+                byte op = in.readByte();
+                String key = in.readUTF();
+                if (op == PUT) {
+                    properties.setProperty(key, in.readUTF());
+                } else {
+                    properties.remove(key);
+                }
+            }
+        } catch (EOFException e) {
+            // End of journal
+        } catch (IOException e) {
+            logError("Cannot read publish journal " + journal, e);
+        }
+    }
+
+    private void append(byte op, String key, String value) {
+        try {
+            if (journalOut == null) {
+                file.getParentFile().mkdirs();
+                journalOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journal, true)));
+            }
+            journalOut.writeByte(op);
+            journalOut.writeUTF(key);
+            if (op == PUT) {
+                journalOut.writeUTF(value);
+            }
+            journalOut.flush();
+        } catch (IOException e) {
+            logError("Cannot write publish journal " + journal, e);
+            closeJournal();
+        }
+    }
+
+    private void closeJournal() {
+        if (journalOut != null) {
+            try {
+                journalOut.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+            journalOut = null;
+        }
+    }
+
+}
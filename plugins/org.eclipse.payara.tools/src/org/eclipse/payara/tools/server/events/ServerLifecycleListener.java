@@ -25,6 +25,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.payara.tools.server.PayaraServer;
+import org.eclipse.payara.tools.server.deploying.PayaraServerBehaviour;
 import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.IServerLifecycleListener;
 import org.eclipse.wst.server.core.IServerWorkingCopy;
@@ -123,6 +124,8 @@ public class ServerLifecycleListener implements IServerLifecycleListener {
         // Since the server is removed, we can remove the corresponding project
         // as well.
         deleteServerProject(server.getAttribute("name", ""));
+        
+        PayaraServerBehaviour.serverRemoved(server);
     }
     
     private void createServerProject(PayaraServer payaraServer) {
@@ -0,0 +1,266 @@
+/******************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.payara.tools.utils;
+
+import static org.eclipse.payara.tools.PayaraToolsPlugin.logMessage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tools.ant.types.selectors.TokenizedPath;
+import org.apache.tools.ant.types.selectors.TokenizedPattern;
+import org.eclipse.payara.tools.sdk.GlassFishToolsConfig;
+
+/**
+ * Persistent index of jar files below Payara installation.
+ *
+ * <p>
+ * Index keeps jar and subdirectory names of every directory together with the directory
+ * modification time. Refresh lists again only directories whose modification time changed, the
+ * other ones are only checked by single stat. Index is stored in
+ * {@link GlassFishToolsConfig#getCacheDirectory()} so it survives restarts.
+ */
+final class LibraryIndex {
+
+    private static final String FILE_PREFIX = "library-index-";
+    private static final int FORMAT_VERSION = 1;
+
+    /** Directories skipped by the index, matches <code>**&#47;osgi-cache/**</code> exclusion. */
+    private static final String SKIPPED_DIRECTORY = "osgi-cache";
+
+    /** Directories modified this recently are listed again on next refresh [ms]. */
+    private static final long MTIME_GRANULARITY = 2000;
+
+    /** Guards against directory link cycles. */
+    private static final int MAX_DEPTH = 32;
+
+    private static final Map<File, LibraryIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final File baseDir;
+    private final File file;
+
+    /** Directory entries mapped to paths relative to base directory. */
+    private Map<String, Directory> directories = new HashMap<>();
+
+    private boolean loaded;
+
+    private static final class Directory {
+        private final long modified;
+        private final String[] jars;
+        private final String[] subdirectories;
+
+        private Directory(long modified, String[] jars, String[] subdirectories) {
+            this.modified = modified;
+            this.jars = jars;
+            this.subdirectories = subdirectories;
+        }
+    }
+
+    static LibraryIndex get(File baseDir) {
+        return INDEXES.computeIfAbsent(baseDir.getAbsoluteFile(), LibraryIndex::new);
+    }
+
+    private LibraryIndex(File baseDir) {
+        this.baseDir = baseDir;
+        this.file = new File(GlassFishToolsConfig.getCacheDirectory(),
+            FILE_PREFIX + Integer.toHexString(baseDir.getPath().hashCode()));
+    }
+
+    /**
+     * Bring index up to date with the file system and store it when anything changed.
+     */
+    synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        boolean cold = !loaded && !load();
+        loaded = true;
+
+        Map<String, Directory> current = new HashMap<>();
+        int listed = refresh("", 0, current, start);
+        boolean changed = listed > 0 || current.size() != directories.size();
+        directories = current;
+        if (changed) {
+            save();
+        }
+
+        logMessage("Library index of " + baseDir + " refreshed in " + (System.currentTimeMillis() - start) + " ms ("
+            + (cold ? "cold" : "warm") + "), " + listed + " of " + current.size() + " directories listed");
+    }
+
+    /**
+     * Get jar files matching given Ant style patterns relative to base directory.
+     */
+    synchronized List<File> match(String[] includes, String[] excludes) {
+        TokenizedPattern[] includePatterns = tokenize(includes);
+        TokenizedPattern[] excludePatterns = tokenize(excludes);
+        List<File> result = new ArrayList<>();
+        List<String> paths = new ArrayList<>(directories.keySet());
+        paths.sort(null);
+        for (String path : paths) {
+            String prefix = path.isEmpty() ? "" : path + File.separator;
+            for (String jar : directories.get(path).jars) {
+                String relativePath = prefix + jar;
+                TokenizedPath tokenizedPath = new TokenizedPath(relativePath);
+                if (matches(includePatterns, tokenizedPath) && !matches(excludePatterns, tokenizedPath)) {
+                    result.add(new File(baseDir, relativePath));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private int refresh(String path, int depth, Map<String, Directory> current, long now) {
+        File dir = path.isEmpty() ? baseDir : new File(baseDir, path);
+        long modified = dir.lastModified();
+        if (modified == 0 || depth > MAX_DEPTH) {
+            return 0;
+        }
+
+        int listed = 0;
+        Directory entry = directories.get(path);
+        if (entry == null || entry.modified != modified || entry.modified < 0) {
+            entry = list(dir, modified, now);
+            listed++;
+        }
+        current.put(path, entry);
+
+        String prefix = path.isEmpty() ? "" : path + File.separator;
+        for (String subdirectory : entry.subdirectories) {
+            listed += refresh(prefix + subdirectory, depth + 1, current, now);
+        }
+
+        return listed;
+    }
+
+    private static Directory list(File dir, long modified, long now) {
+        File[] children = dir.listFiles();
+        List<String> jars = new ArrayList<>();
+        List<String> subdirectories = new ArrayList<>();
+        if (children != null) {
+            for (File child : children) {
+                String name = child.getName();
+                if (child.isDirectory()) {
+                    if (!SKIPPED_DIRECTORY.equals(name)) {
+                        subdirectories.add(name);
+                    }
+                } else if (name.endsWith(".jar")) {
+                    jars.add(name);
+                }
+            }
+        }
+
+        // Changes made in the same time unit as this listing would not change the modification time
+        long trusted = now - modified < MTIME_GRANULARITY ? -1 : modified;
+
+        return new Directory(trusted, jars.toArray(new String[jars.size()]),
+            subdirectories.toArray(new String[subdirectories.size()]));
+    }
+
+    private static TokenizedPattern[] tokenize(String[] patterns) {
+        if (patterns == null) {
+            return new TokenizedPattern[0];
+        }
+
+        TokenizedPattern[] tokenized = new TokenizedPattern[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            tokenized[i] = new TokenizedPattern(
+                patterns[i].replace('/', File.separatorChar).replace('\\', File.separatorChar));
+        }
+
+        return tokenized;
+    }
+
+    private static boolean matches(TokenizedPattern[] patterns, TokenizedPath path) {
+        for (TokenizedPattern pattern : patterns) {
+            if (pattern.matchPath(path, true)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean load() {
+        if (!file.isFile()) {
+            return false;
+        }
+
+        Map<String, Directory> loadedDirectories = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !baseDir.getPath().equals(in.readUTF())) {
+                return false;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long modified = in.readLong();
+                String[] jars = readNames(in);
+                String[] subdirectories = readNames(in);
+                loadedDirectories.put(path, new Directory(modified, jars, subdirectories));
+            }
+        } catch (IOException e) {
+            return false;
+        }
+
+        directories = loadedDirectories;
+        return true;
+    }
+
+    private void save() {
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(baseDir.getPath());
+                out.writeInt(directories.size());
+                for (Map.Entry<String, Directory> entry : directories.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue().modified);
+                    writeNames(out, entry.getValue().jars);
+                    writeNames(out, entry.getValue().subdirectories);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logMessage("Cannot store library index " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String[] readNames(DataInputStream in) throws IOException {
+        String[] names = new String[in.readInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+
+        return names;
+    }
+
+    private static void writeNames(DataOutputStream out, String[] names) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+}
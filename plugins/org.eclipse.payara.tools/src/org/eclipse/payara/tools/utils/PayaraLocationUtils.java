@@ -24,15 +24,13 @@ import static org.eclipse.payara.tools.internal.ManifestUtil.readManifestEntry;
 import java.io.File;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.tools.ant.DirectoryScanner;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IJavaProject;
@@ -63,7 +61,10 @@ public final class PayaraLocationUtils {
     // <runtime-component-type id="payara.runtime"/>
     private static final String RUNTIME_COMPONENT_ID = "payara.runtime";
 
-    private static final Map<File, SoftReference<PayaraLocationUtils>> CACHE = new HashMap<>();
+    private static final Map<File, SoftReference<PayaraLocationUtils>> CACHE = new ConcurrentHashMap<>();
+    
+    // Locations are resolved under per location lock, so different locations are resolved concurrently
+    private static final Map<File, Object> LOCKS = new ConcurrentHashMap<>();
 
     private final Version version;
     private final Map<String, List<File>> libraries;
@@ -72,7 +73,7 @@ public final class PayaraLocationUtils {
     // #### static factory / finder methods
     
 
-    public static synchronized PayaraLocationUtils find(IJavaProject project) {
+    public static PayaraLocationUtils find(IJavaProject project) {
         if (project != null) {
             return find(project.getProject());
         }
@@ -80,7 +81,7 @@ public final class PayaraLocationUtils {
         return null;
     }
 
-    public static synchronized PayaraLocationUtils find(IProject project) {
+    public static PayaraLocationUtils find(IProject project) {
         if (project != null) {
             IFacetedProject facetedProject = null;
 
@@ -98,7 +99,7 @@ public final class PayaraLocationUtils {
         return null;
     }
     
-    public static synchronized PayaraLocationUtils find(IFacetedProject project) {
+    public static PayaraLocationUtils find(IFacetedProject project) {
         if (project != null) {
             IRuntime primary = project.getPrimaryRuntime();
 
@@ -124,7 +125,7 @@ public final class PayaraLocationUtils {
         return null;
     }
     
-    public static synchronized PayaraLocationUtils find(IRuntime runtime) {
+    public static PayaraLocationUtils find(IRuntime runtime) {
         if (runtime != null) {
             for (IRuntimeComponent component : runtime.getRuntimeComponents()) {
                 PayaraLocationUtils payaraLocation = find(component);
@@ -138,7 +139,7 @@ public final class PayaraLocationUtils {
         return null;
     }
     
-    public static synchronized PayaraLocationUtils find(IRuntimeComponent component) {
+    public static PayaraLocationUtils find(IRuntimeComponent component) {
         if (component != null && component.getRuntimeComponentType().getId().equals(RUNTIME_COMPONENT_ID)) {
             String location = component.getProperty("location");
 
@@ -150,37 +151,41 @@ public final class PayaraLocationUtils {
         return null;
     }
     
-    public static synchronized PayaraLocationUtils find(File location) {
+    public static PayaraLocationUtils find(File location) {
         
         // Lazily cleanup cache keys
-        for (Iterator<Map.Entry<File, SoftReference<PayaraLocationUtils>>> itr = CACHE.entrySet().iterator(); itr.hasNext();) {
-            if (itr.next().getValue().get() == null) {
-                itr.remove();
-            }
-        }
+        CACHE.values().removeIf(reference -> reference.get() == null);
 
-        PayaraLocationUtils payaraLocation = null;
-
-        if (location != null) {
-            SoftReference<PayaraLocationUtils> payaraLocationReference = CACHE.get(location);
-
-            if (payaraLocationReference != null) {
-                payaraLocation = payaraLocationReference.get();
-            }
-
-            if (payaraLocation == null) {
-                try {
-                    payaraLocation = new PayaraLocationUtils(location);
-                } catch (IllegalArgumentException e) {
-                    return null;
+        if (location == null) {
+            return null;
+        }
+        
+        PayaraLocationUtils payaraLocation = getCached(location);
+
+        if (payaraLocation == null) {
+            synchronized (LOCKS.computeIfAbsent(location, key -> new Object())) {
+                payaraLocation = getCached(location);
+                
+                if (payaraLocation == null) {
+                    try {
+                        payaraLocation = new PayaraLocationUtils(location);
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+    
+                    CACHE.put(location, new SoftReference<>(payaraLocation));
                 }
-
-                CACHE.put(location, new SoftReference<>(payaraLocation));
             }
         }
 
         return payaraLocation;
     }
+    
+    private static PayaraLocationUtils getCached(File location) {
+        SoftReference<PayaraLocationUtils> payaraLocationReference = CACHE.get(location);
+        
+        return payaraLocationReference == null ? null : payaraLocationReference.get();
+    }
   
     
     
@@ -252,46 +257,31 @@ public final class PayaraLocationUtils {
     private Map<String, List<File>> readLibraryFilesFromPayaraLocation(File payaraLocation, Version payaraVersion) {
         Map<String, List<File>> librariesPerVariant = new HashMap<>();
         
+        // Jar files are resolved from persistent index, which lists again only changed directories
+        LibraryIndex index = LibraryIndex.get(payaraLocation.getParentFile());
+        index.refresh();
+        
         librariesPerVariant.put(
             DEFAULT_LIBRARIES, 
-            readLibrariesByPattern(payaraLocation, SystemLibraries.getLibraryIncludesByVersion(payaraVersion)));
+            readLibrariesByPattern(index, SystemLibraries.getLibraryIncludesByVersion(payaraVersion)));
         
         librariesPerVariant.put(
             ALL_LIBRARIES, 
-            readLibrariesByPattern(payaraLocation, new String[] {"**/*.jar"}, new String[] {"**/osgi-cache/**"}));
+            readLibrariesByPattern(index, new String[] {"**/*.jar"}, new String[] {"**/osgi-cache/**"}));
         
         return librariesPerVariant;
     }
     
-    private List<File> readLibrariesByPattern(File payaraLocation, String[] inclusionPattern) {
-        return readLibrariesByPattern(payaraLocation, inclusionPattern, null);
+    private List<File> readLibrariesByPattern(LibraryIndex index, String[] inclusionPattern) {
+        return readLibrariesByPattern(index, inclusionPattern, null);
     }
     
-    private List<File> readLibrariesByPattern(File payaraLocation, String[] inclusionPattern, String[] exclusionPattern) {
+    private List<File> readLibrariesByPattern(LibraryIndex index, String[] inclusionPattern, String[] exclusionPattern) {
         if (inclusionPattern == null) {
             return emptyList();
         }
         
-        File parentFolderToLocation = payaraLocation.getParentFile();
-        
-        // Use a directory scanner to resolve the wildcards and obtain an expanded
-        // list of relative files.
-        DirectoryScanner scanner = new DirectoryScanner();
-        scanner.setBasedir(parentFolderToLocation);
-        scanner.setIncludes(inclusionPattern);
-        if (exclusionPattern != null) {
-            scanner.setExcludes(exclusionPattern);
-        }
-        scanner.scan();
-
-        // Turn the expanded, but still relative, string based paths into absolute files.
-        List<File> libraries = new ArrayList<>();
-        for (String libraryRelativePath : scanner.getIncludedFiles()) {
-            libraries.add(new File(parentFolderToLocation, libraryRelativePath));
-        }
-        
-        return libraries;
-        
+        return index.match(inclusionPattern, exclusionPattern);
     }
     
     private void checkLocationIsValid(File location) {
@@ -235,9 +235,12 @@ public class ResourceUtils {
         if (selectedProject != null) {
             File xmlFile = getSunResourceFile(selectedProject);
             if (xmlFile.exists()) {
-                for (ResourceType type : types) {
-                    ResourcesReader reader = new ResourcesReader(type);
-                    TreeParser.readXml(xmlFile, reader);
+                ResourcesReader[] readers = new ResourcesReader[types.length];
+                for (int i = 0; i < types.length; i++) {
+                    readers[i] = new ResourcesReader(types[i]);
+                }
+                TreeParser.readXml(xmlFile, readers);
+                for (ResourcesReader reader : readers) {
                     resources.addAll(reader.getResourceData().keySet());
                 }
             }
@@ -53,16 +53,12 @@ import org.eclipse.wst.server.core.IServer;
 
 public class ServerStatusHelper {
 
+    /**
+     * Check status of given server. Polls of multiple servers are spread in time by
+     * {@link org.eclipse.payara.tools.internal.ServerStatusMonitor} so this method does not wait before
+     * querying the server.
+     */
     public static ServerStatus checkServerStatus(PayaraServer server) {
-        
-        // Randomly wait for some random reason
-        try {
-            Thread.sleep(Math.round(Math.random() * 1000));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return NOT_DEFINED;
-        }
-
         if (!isAdminPortListening(server)) {
             return STOPPED_NOT_LISTENING;
         }
@@ -0,0 +1,204 @@
+/** ****************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ***************************************************************************** */
+package org.eclipse.payara.tools.sdk.admin.response;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.payara.tools.sdk.PayaraIdeException;
+import org.junit.Test;
+
+/**
+ * REST response parsers test using recorded server responses.
+ */
+public class RestResponseParserTest {
+
+    /**
+     * Parse recorded response stored next to this class.
+     */
+    private static RestActionReport parse(final RestResponseParser parser, final String name)
+            throws IOException {
+        try (InputStream in = RestResponseParserTest.class.getResourceAsStream(name)) {
+            assertNotNull("Missing recorded response " + name, in);
+            return parser.parse(in);
+        }
+    }
+
+    /**
+     * Parse JSON response given as string.
+     */
+    private static RestActionReport parseJson(final String json) {
+        return new RestJSONResponseParser().parse(new ByteArrayInputStream(json.getBytes(UTF_8)));
+    }
+
+    /**
+     * Read all tokens of given JSON value.
+     */
+    private static void readJson(final String json) throws IOException {
+        new JsonReader(new StringReader(json)).skipValue();
+    }
+
+    /**
+     * Verify that both reports contain the same tree of values.
+     */
+    private static void assertSameReport(final ActionReport expected, final ActionReport actual) {
+        assertEquals(expected.getExitCode(), actual.getExitCode());
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getCommand(), actual.getCommand());
+        RestActionReport expectedRest = (RestActionReport) expected;
+        RestActionReport actualRest = (RestActionReport) actual;
+        assertSamePart(expectedRest.getTopMessagePart(), actualRest.getTopMessagePart());
+        List<? extends ActionReport> expectedSub = expectedRest.getSubActionsReport();
+        List<? extends ActionReport> actualSub = actualRest.getSubActionsReport();
+        assertEquals(expectedSub.size(), actualSub.size());
+        for (int i = 0; i < expectedSub.size(); i++) {
+            assertSameReport(expectedSub.get(i), actualSub.get(i));
+        }
+    }
+
+    /**
+     * Verify that both message parts contain the same tree of values.
+     */
+    private static void assertSamePart(final MessagePart expected, final MessagePart actual) {
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        List<MessagePart> expectedChildren = expected.getChildren();
+        List<MessagePart> actualChildren = actual.getChildren();
+        if (expectedChildren == null) {
+            assertNull(actualChildren);
+            return;
+        }
+        assertEquals(expectedChildren.size(), actualChildren.size());
+        for (int i = 0; i < expectedChildren.size(); i++) {
+            assertSamePart(expectedChildren.get(i), actualChildren.get(i));
+        }
+    }
+
+    /**
+     * Verify that JSON separator error is reported.
+     */
+    private static void assertMalformed(final String json) {
+        try {
+            readJson(json);
+            fail("Malformed JSON shall be rejected: " + json);
+        } catch (IOException ioe) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test that <code>location</code> response is parsed from JSON.
+     */
+    @Test
+    public void locationJson() throws IOException {
+        RestActionReport report = parse(new RestJSONResponseParser(), "location.json");
+        assertEquals(ActionReport.ExitCode.SUCCESS, report.getExitCode());
+        assertEquals("location AdminCommand", report.getCommand());
+        assertEquals("/opt/payara5/glassfish/domains/domain1", report.getMessage());
+        Properties props = report.getTopMessagePart().getProperties();
+        assertEquals(5, props.size());
+        assertEquals("/opt/payara5/glassfish", props.getProperty("Base-Root"));
+        assertEquals("/opt/payara5/glassfish/domains/domain1", props.getProperty("Domain-Root"));
+        assertNull(report.getTopMessagePart().getChildren());
+    }
+
+    /**
+     * Test that JSON and XML <code>location</code> responses produce the same report.
+     */
+    @Test
+    public void locationSameTree() throws IOException {
+        assertSameReport(parse(new RestXMLResponseParser(), "location.xml"),
+                parse(new RestJSONResponseParser(), "location.json"));
+    }
+
+    /**
+     * Test that <code>list-components</code> response is parsed from JSON including nested children
+     * and sub reports.
+     */
+    @Test
+    public void listComponentsJson() throws IOException {
+        RestActionReport report = parse(new RestJSONResponseParser(), "list-components.json");
+        assertEquals(ActionReport.ExitCode.SUCCESS, report.getExitCode());
+        assertEquals("hello <web>\nshop <ejb, web>\nshop-ear <ear, ejb, web>", report.getMessage());
+        List<MessagePart> children = report.getTopMessagePart().getChildren();
+        assertEquals(3, children.size());
+        assertEquals("hello <web>", children.get(0).getMessage());
+        assertEquals(0, children.get(0).getProperties().size());
+        MessagePart ear = children.get(2);
+        assertEquals("/shop-ear", ear.getProperties().getProperty("context-root"));
+        assertEquals(2, ear.getChildren().size());
+        assertEquals("/shop", ear.getChildren().get(1).getProperties().getProperty("context-root"));
+        assertEquals(1, report.getSubActionsReport().size());
+        assertEquals(ActionReport.ExitCode.WARNING, report.getSubActionsReport().get(0).getExitCode());
+    }
+
+    /**
+     * Test that JSON and XML <code>list-components</code> responses produce the same report.
+     */
+    @Test
+    public void listComponentsSameTree() throws IOException {
+        assertSameReport(parse(new RestXMLResponseParser(), "list-components.xml"),
+                parse(new RestJSONResponseParser(), "list-components.json"));
+    }
+
+    /**
+     * Test that well formed JSON values are accepted.
+     */
+    @Test
+    public void wellFormedJson() throws IOException {
+        readJson("{}");
+        readJson("[]");
+        readJson("{ \"a\" : 1 , \"b\" : [ 1 , { } , [ ] ] , \"c\" : { \"d\" : null } }");
+        readJson("[{\"a\":\"x\\\",y\"},\"\\u0041\",true]");
+    }
+
+    /**
+     * Test that missing or misplaced separators are rejected.
+     */
+    @Test
+    public void missingSeparator() {
+        assertMalformed("{\"a\":1 \"b\":2}");
+        assertMalformed("{\"a\":{\"x\":1} \"b\":2}");
+        assertMalformed("{\"a\":\"x\"\"b\":\"y\"}");
+        assertMalformed("[1 2]");
+        assertMalformed("[{} {}]");
+        assertMalformed("[1,]");
+        assertMalformed("{\"a\":1,}");
+        assertMalformed("[,1]");
+        assertMalformed("{,\"a\":1}");
+        assertMalformed("[1,,2]");
+    }
+
+    /**
+     * Test that response with missing member separator is rejected by JSON parser.
+     */
+    @Test(expected = PayaraIdeException.class)
+    public void missingSeparatorResponse() {
+        parseJson("{\"message\":\"\" \"exit_code\":\"SUCCESS\"}");
+    }
+
+    /**
+     * Test that response with missing element separator in children is rejected by JSON parser.
+     */
+    @Test(expected = PayaraIdeException.class)
+    public void missingChildSeparatorResponse() {
+        parseJson("{\"exit_code\":\"SUCCESS\",\"children\":[{\"message\":\"a\"} {\"message\":\"b\"}]}");
+    }
+
+}
@@ -0,0 +1,261 @@
+/** ****************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ***************************************************************************** */
+package org.eclipse.payara.tools.sdk.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.payara.tools.sdk.utils.ByteRingBuffer.Overflow;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Byte ring buffer functional test.
+ */
+public class ByteRingBufferTest {
+
+    /** Number of bytes sent through the buffer by concurrent tests. */
+    private static final int SIZE = 1 << 20;
+
+    /** Writer thread of concurrent tests. */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * Create test data, every byte differs from its neighbors.
+     */
+    private static byte[] data(final int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        return data;
+    }
+
+    /**
+     * Write data in chunks of varying size from writer thread and close writing side.
+     */
+    private Future<Void> writeAsync(final ByteRingBuffer buffer, final byte[] data) {
+        return writer.submit(() -> {
+            try (OutputStream out = buffer.getOutputStream()) {
+                int off = 0;
+                int chunk = 1;
+                while (off < data.length) {
+                    int len = Math.min(chunk, data.length - off);
+                    if (len == 1) {
+                        out.write(data[off]);
+                    } else {
+                        out.write(data, off, len);
+                    }
+                    off += len;
+                    chunk = chunk * 7 % 997 + 1;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Read all data until end of stream using both single byte and array reads, reading slowly when
+     * requested.
+     */
+    private static byte[] readAll(final InputStream in, final boolean slow)
+            throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[333];
+        for (int reads = 1;; reads++) {
+            if ((reads & 1) == 0) {
+                int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                out.write(b);
+            } else {
+                int n = in.read(chunk);
+                if (n < 0) {
+                    break;
+                }
+                out.write(chunk, 0, n);
+            }
+            if (slow && reads % 64 == 0) {
+                Thread.sleep(1);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Test that blocking buffer passes all data in order.
+     */
+    @Test
+    public void blockKeepsOrder() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(64, Overflow.BLOCK);
+        byte[] data = data(SIZE);
+        Future<Void> done = writeAsync(buffer, data);
+        byte[] read = readAll(buffer.getInputStream(), false);
+        done.get(10, TimeUnit.SECONDS);
+        assertArrayEquals(data, read);
+        assertEquals(0, buffer.getDropped());
+        assertEquals(0, buffer.getSpilled());
+        assertEquals(SIZE, buffer.getWritten());
+    }
+
+    /**
+     * Test that full dropping buffer keeps newest data and counts discarded bytes.
+     */
+    @Test
+    public void dropOldestKeepsNewest() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(8, Overflow.DROP_OLDEST);
+        byte[] data = data(20);
+        OutputStream out = buffer.getOutputStream();
+        out.write(data, 0, 13);
+        out.write(data, 13, 7);
+        out.close();
+        byte[] read = readAll(buffer.getInputStream(), false);
+        byte[] newest = new byte[8];
+        System.arraycopy(data, 12, newest, 0, 8);
+        assertArrayEquals(newest, read);
+        assertEquals(12, buffer.getDropped());
+        assertEquals(20, buffer.getWritten());
+    }
+
+    /**
+     * Test that concurrent reader of dropping buffer receives ordered subsequence of written data
+     * and every byte is either read or counted as dropped.
+     */
+    @Test
+    public void dropOldestAccountsAllBytes() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(64, Overflow.DROP_OLDEST);
+        byte[] data = data(SIZE);
+        Future<Void> done = writeAsync(buffer, data);
+        byte[] read = readAll(buffer.getInputStream(), true);
+        done.get(10, TimeUnit.SECONDS);
+        assertTrue("Reader shall fall behind", buffer.getDropped() > 0);
+        assertEquals(SIZE, read.length + buffer.getDropped());
+        assertEquals(SIZE, buffer.getWritten());
+        int pos = 0;
+        for (byte b : read) {
+            while (pos < SIZE && data[pos] != b) {
+                pos++;
+            }
+            assertTrue("Read data shall keep written order", pos++ < SIZE);
+        }
+        assertEquals(data[SIZE - 1], read[read.length - 1]);
+    }
+
+    /**
+     * Test that spilling buffer passes all data in order to slow reader.
+     */
+    @Test
+    public void spillKeepsOrder() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(64, Overflow.SPILL);
+        byte[] data = data(SIZE);
+        Future<Void> done = writeAsync(buffer, data);
+        byte[] read = readAll(buffer.getInputStream(), true);
+        done.get(10, TimeUnit.SECONDS);
+        assertArrayEquals(data, read);
+        assertEquals(0, buffer.getDropped());
+        assertTrue("Data shall go through spill file", buffer.getSpilled() > 0);
+        assertEquals(SIZE, buffer.getWritten());
+    }
+
+    /**
+     * Test that spill file is truncated once reader drained it.
+     */
+    @Test
+    public void spillFileTruncated() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(8, Overflow.SPILL);
+        OutputStream out = buffer.getOutputStream();
+        InputStream in = buffer.getInputStream();
+        byte[] data = data(100);
+        out.write(data);
+        assertEquals(92, buffer.getSpilled());
+        assertEquals(92, buffer.getSpillFileSize());
+        assertEquals(100, buffer.getBuffered());
+        byte[] read = new byte[100];
+        int off = 0;
+        while (off < read.length) {
+            off += in.read(read, off, read.length - off);
+        }
+        assertArrayEquals(data, read);
+        assertEquals(0, buffer.getSpillFileSize());
+        assertEquals(0, buffer.getBuffered());
+        // Buffer is used again after spill file was drained.
+        out.write(data, 0, 8);
+        assertEquals(92, buffer.getSpilled());
+        assertEquals(0, buffer.getSpillFileSize());
+        in.close();
+        out.close();
+    }
+
+    /**
+     * Test that reader gets remaining data and then end of stream after writer was closed.
+     */
+    @Test
+    public void writerCloseEndsStream() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(16, Overflow.BLOCK);
+        OutputStream out = buffer.getOutputStream();
+        InputStream in = buffer.getInputStream();
+        out.write(data(10));
+        out.close();
+        assertEquals(10, in.read(new byte[32]));
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[4], 0, 4));
+        try {
+            out.write(1);
+            fail("Write after close shall fail");
+        } catch (IOException ioe) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test that closing reader releases blocked writer and reading after close fails.
+     */
+    @Test
+    public void readerCloseFailsWriter() throws Exception {
+        ByteRingBuffer buffer = new ByteRingBuffer(16, Overflow.BLOCK);
+        InputStream in = buffer.getInputStream();
+        Future<Void> done = writeAsync(buffer, data(64));
+        Thread.sleep(50);
+        in.close();
+        try {
+            done.get(10, TimeUnit.SECONDS);
+            fail("Blocked write shall fail after reader was closed");
+        } catch (ExecutionException ee) {
+            assertTrue(ee.getCause() instanceof IOException);
+        } catch (TimeoutException te) {
+            fail("Blocked writer was not released");
+        }
+        try {
+            in.read();
+            fail("Read after close shall fail");
+        } catch (IOException ioe) {
+            // Expected
+        }
+    }
+
+}
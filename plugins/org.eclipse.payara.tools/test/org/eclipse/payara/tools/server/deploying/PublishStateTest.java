@@ -0,0 +1,126 @@
+/** ****************************************************************************
+ * Copyright (c) 2019 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ***************************************************************************** */
+package org.eclipse.payara.tools.server.deploying;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Publish state journal recovery test.
+ */
+public class PublishStateTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File stateFile() {
+        return new File(folder.getRoot(), "publish.txt");
+    }
+
+    private File journal() {
+        return new File(folder.getRoot(), "publish.txt.log");
+    }
+
+    /**
+     * Cut given number of bytes from the end of the journal, as if the IDE crashed while writing
+     * the last record.
+     */
+    private void tear(int bytes) throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(journal(), "rw")) {
+            raf.setLength(raf.length() - bytes);
+        }
+    }
+
+    /**
+     * Test that flushed state is read again and journal is dropped.
+     */
+    @Test
+    public void flushedStateIsLoaded() {
+        PublishState state = new PublishState(stateFile());
+        state.put("app1", "/apps/app1");
+        state.put("app2", "/apps/app2");
+        state.remove("app1");
+        state.flush();
+        assertFalse(journal().exists());
+
+        PublishState loaded = new PublishState(stateFile());
+        assertNull(loaded.get("app1"));
+        assertEquals("/apps/app2", loaded.get("app2"));
+    }
+
+    /**
+     * Test that changes not flushed before crash are recovered from journal.
+     */
+    @Test
+    public void journalIsReplayed() {
+        PublishState state = new PublishState(stateFile());
+        state.put("app1", "/apps/app1");
+        state.flush();
+        state.put("app2", "/apps/app2");
+        state.remove("app1");
+        assertTrue(journal().isFile());
+
+        PublishState loaded = new PublishState(stateFile());
+        assertNull(loaded.get("app1"));
+        assertEquals("/apps/app2", loaded.get("app2"));
+        assertFalse("Replayed journal shall be merged into state file", journal().exists());
+    }
+
+    /**
+     * Test that journal with torn last record replays all complete records and ignores the torn one.
+     */
+    @Test
+    public void tornLastRecordIsIgnored() throws Exception {
+        PublishState state = new PublishState(stateFile());
+        state.put("app1", "/apps/app1");
+        state.put("app2", "/apps/app2");
+        state.put("app3", "/apps/app3");
+        // Value of last record is incomplete
+        tear(3);
+
+        PublishState loaded = new PublishState(stateFile());
+        assertEquals("/apps/app1", loaded.get("app1"));
+        assertEquals("/apps/app2", loaded.get("app2"));
+        assertNull(loaded.get("app3"));
+        assertFalse(journal().exists());
+
+        // Records appended after recovery do not follow the torn record
+        loaded.put("app4", "/apps/app4");
+        PublishState reloaded = new PublishState(stateFile());
+        assertEquals("/apps/app1", reloaded.get("app1"));
+        assertEquals("/apps/app4", reloaded.get("app4"));
+        assertNull(reloaded.get("app3"));
+    }
+
+    /**
+     * Test that torn removal record keeps the entry.
+     */
+    @Test
+    public void tornRemoveRecordIsIgnored() throws Exception {
+        PublishState state = new PublishState(stateFile());
+        state.put("app1", "/apps/app1");
+        state.flush();
+        state.remove("app1");
+        // Key of removal record is incomplete
+        tear(1);
+
+        PublishState loaded = new PublishState(stateFile());
+        assertEquals("/apps/app1", loaded.get("app1"));
+    }
+
+}